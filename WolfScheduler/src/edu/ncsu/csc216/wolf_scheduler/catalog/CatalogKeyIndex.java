@@ -0,0 +1,95 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.HashMap;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Hash index from the name and section of a section to its index in a catalog.
+ * Packed keys are stored in an open addressing table of primitive arrays, sections
+ * without a packed key are kept in a HashMap by their name and section.
+ * @author Steven Saleeb
+ */
+class CatalogKeyIndex {
+
+	/** Multiplier used to spread the bits of a key */
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	/** Packed keys in the table, NO_KEY marks an empty slot */
+	private final long[] keys;
+	/** Catalog index of the key in the same slot */
+	private final int[] indexes;
+	/** Mask to turn a hash into a slot */
+	private final int mask;
+	/** Catalog index of the sections without a packed key */
+	private final HashMap<String, Integer> unpacked = new HashMap<String, Integer>();
+
+	/**
+	 * Builds the index for all the sections of the given catalog. If a name and section
+	 * is in the catalog more than once, the first index is kept.
+	 * @param catalog the catalog to index
+	 */
+	CatalogKeyIndex(CourseCatalog catalog) {
+		int capacity = Integer.highestOneBit(Math.max(2, catalog.size()) * 2 - 1) << 1;
+		keys = new long[capacity];
+		indexes = new int[capacity];
+		mask = capacity - 1;
+		for (int i = 0; i < catalog.size(); i++) {
+			long key = catalog.getKey(i);
+			if (key == Course.NO_KEY) {
+				unpacked.putIfAbsent(unpackedKey(catalog.getName(i), catalog.getSection(i)), i);
+			} else {
+				int slot = slot(key);
+				while (keys[slot] != Course.NO_KEY && keys[slot] != key) {
+					slot = (slot + 1) & mask;
+				}
+				if (keys[slot] == Course.NO_KEY) {
+					keys[slot] = key;
+					indexes[slot] = i;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the catalog index of the given name and section
+	 * @param name the course name
+	 * @param section the section
+	 * @return the catalog index, or -1 if it is not in the catalog
+	 */
+	int indexOf(String name, String section) {
+		long key = Course.packKey(name, section);
+		if (key == Course.NO_KEY) {
+			Integer idx = unpacked.get(unpackedKey(name, section));
+			return idx == null ? -1 : idx;
+		}
+		int slot = slot(key);
+		while (keys[slot] != Course.NO_KEY) {
+			if (keys[slot] == key) {
+				return indexes[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the first slot to look at for the given key
+	 * @param key the packed key
+	 * @return the slot
+	 */
+	private int slot(long key) {
+		return (int) ((key * HASH_MULTIPLIER) >>> 32) & mask;
+	}
+
+	/**
+	 * Returns the HashMap key of a name and section that can not be packed
+	 * @param name the course name
+	 * @param section the section
+	 * @return the map key
+	 */
+	private static String unpackedKey(String name, String section) {
+		return name + "," + section;
+	}
+
+}
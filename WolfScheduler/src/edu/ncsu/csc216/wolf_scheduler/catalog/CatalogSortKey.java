@@ -0,0 +1,42 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.Comparator;
+
+/**
+ * The orders a course catalog can be listed in. Sections that are equal on the sort key
+ * are listed by course name and then by section.
+ * @author Steven Saleeb
+ */
+public enum CatalogSortKey {
+
+	/** By course name and section */
+	NAME,
+	/** By course title */
+	TITLE,
+	/** By start time, with arranged sections last */
+	START_TIME,
+	/** By instructor id */
+	INSTRUCTOR;
+
+	/**
+	 * Returns a comparator of the indexes of the sections of the given catalog in this order
+	 * @param catalog the catalog the indexes are in
+	 * @return the comparator of section indexes
+	 */
+	Comparator<Integer> comparator(CourseCatalog catalog) {
+		Comparator<Integer> byName = Comparator.comparing((Integer i) -> catalog.getName(i))
+				.thenComparing(i -> catalog.getSection(i));
+		switch (this) {
+		case TITLE:
+			return Comparator.comparing((Integer i) -> catalog.getTitle(i)).thenComparing(byName);
+		case START_TIME:
+			return Comparator.comparingInt((Integer i) -> catalog.getDaysMask(i) == 0 ? Integer.MAX_VALUE : catalog.getStartTime(i))
+					.thenComparing(byName);
+		case INSTRUCTOR:
+			return Comparator.comparing((Integer i) -> catalog.getInstructorId(i)).thenComparing(byName);
+		default:
+			return byName;
+		}
+	}
+
+}
@@ -0,0 +1,192 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Course catalog that stores the sections column by column instead of as Course objects.
+ * Times and credits are int arrays, meeting days are byte masks, and names, sections, titles,
+ * instructor ids and meeting days strings are ids into dictionaries. Course objects are only
+ * made when a section is asked for, so scanning a column only touches that column.
+ * @author Steven Saleeb
+ */
+public class ColumnarCourseCatalog extends CourseCatalog {
+
+	/** Number of sections */
+	private final int size;
+	/** Packed name and section keys */
+	private final long[] keys;
+	/** Name ids */
+	private final int[] names;
+	/** Section ids */
+	private final int[] sections;
+	/** Title ids */
+	private final int[] titles;
+	/** Instructor ids */
+	private final int[] instructors;
+	/** Meeting days ids */
+	private final int[] meetingDays;
+	/** Credit hours */
+	private final int[] credits;
+	/** Start times */
+	private final int[] startTimes;
+	/** End times */
+	private final int[] endTimes;
+	/** Meeting days masks */
+	private final byte[] daysMasks;
+	/** Dictionary of names and sections */
+	private final StringDictionary nameDictionary = new StringDictionary();
+	/** Dictionary of titles */
+	private final StringDictionary titleDictionary = new StringDictionary();
+	/** Dictionary of instructor ids */
+	private final StringDictionary instructorDictionary = new StringDictionary();
+	/** Dictionary of meeting days */
+	private final StringDictionary daysDictionary = new StringDictionary();
+
+	/**
+	 * Creates a catalog with the sections of the given courses
+	 * @param courses the courses in the catalog
+	 */
+	public ColumnarCourseCatalog(List<Course> courses) {
+		size = courses.size();
+		keys = new long[size];
+		names = new int[size];
+		sections = new int[size];
+		titles = new int[size];
+		instructors = new int[size];
+		meetingDays = new int[size];
+		credits = new int[size];
+		startTimes = new int[size];
+		endTimes = new int[size];
+		daysMasks = new byte[size];
+		for (int i = 0; i < size; i++) {
+			Course c = courses.get(i);
+			keys[i] = c.getKey();
+			names[i] = nameDictionary.encode(c.getName());
+			sections[i] = nameDictionary.encode(c.getSection());
+			titles[i] = titleDictionary.encode(c.getTitle());
+			instructors[i] = instructorDictionary.encode(c.getInstructorId());
+			meetingDays[i] = daysDictionary.encode(c.getMeetingDays());
+			credits[i] = c.getCredits();
+			startTimes[i] = c.getStartTime();
+			endTimes[i] = c.getEndTime();
+			daysMasks[i] = (byte) c.getMeetingDaysMask();
+		}
+		nameDictionary.freeze();
+		titleDictionary.freeze();
+		instructorDictionary.freeze();
+		daysDictionary.freeze();
+		buildIndexes();
+	}
+
+	/**
+	 * Returns the number of sections in the catalog
+	 * @return the number of sections
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the packed key of the section at the given index
+	 * @param idx the index of the section
+	 * @return the packed key
+	 */
+	@Override
+	public long getKey(int idx) {
+		return keys[idx];
+	}
+
+	/**
+	 * Returns the course name of the section at the given index
+	 * @param idx the index of the section
+	 * @return the course name
+	 */
+	@Override
+	public String getName(int idx) {
+		return nameDictionary.decode(names[idx]);
+	}
+
+	/**
+	 * Returns the section number of the section at the given index
+	 * @param idx the index of the section
+	 * @return the section
+	 */
+	@Override
+	public String getSection(int idx) {
+		return nameDictionary.decode(sections[idx]);
+	}
+
+	/**
+	 * Returns the title of the section at the given index
+	 * @param idx the index of the section
+	 * @return the title
+	 */
+	@Override
+	public String getTitle(int idx) {
+		return titleDictionary.decode(titles[idx]);
+	}
+
+	/**
+	 * Returns the credit hours of the section at the given index
+	 * @param idx the index of the section
+	 * @return the credits
+	 */
+	@Override
+	public int getCredits(int idx) {
+		return credits[idx];
+	}
+
+	/**
+	 * Returns the instructor id of the section at the given index
+	 * @param idx the index of the section
+	 * @return the instructor id
+	 */
+	@Override
+	public String getInstructorId(int idx) {
+		return instructorDictionary.decode(instructors[idx]);
+	}
+
+	/**
+	 * Returns the meeting days of the section at the given index
+	 * @param idx the index of the section
+	 * @return the meeting days
+	 */
+	@Override
+	public String getMeetingDays(int idx) {
+		return daysDictionary.decode(meetingDays[idx]);
+	}
+
+	/**
+	 * Returns the start time of the section at the given index
+	 * @param idx the index of the section
+	 * @return the start time
+	 */
+	@Override
+	public int getStartTime(int idx) {
+		return startTimes[idx];
+	}
+
+	/**
+	 * Returns the end time of the section at the given index
+	 * @param idx the index of the section
+	 * @return the end time
+	 */
+	@Override
+	public int getEndTime(int idx) {
+		return endTimes[idx];
+	}
+
+	/**
+	 * Returns the days mask of the section at the given index
+	 * @param idx the index of the section
+	 * @return the days mask
+	 */
+	@Override
+	public int getDaysMask(int idx) {
+		return daysMasks[idx];
+	}
+
+}
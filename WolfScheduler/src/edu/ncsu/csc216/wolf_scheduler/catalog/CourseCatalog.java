@@ -0,0 +1,361 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Abstract course catalog that stores the sections read from a catalog file.
+ * Sections are accessed by their index in the catalog, each catalog decides how the
+ * fields are stored and makes Course objects for the sections when they are needed.
+ * A catalog does not change after it is created, each catalog builds its indexes
+ * once at the end of its constructor by calling buildIndexes().
+ * @author Steven Saleeb
+ */
+public abstract class CourseCatalog {
+
+	/** Index of the sections by name and section */
+	private CatalogKeyIndex keyIndex;
+
+	/** Sorted index of the sections by course name */
+	private CourseNameIndex nameIndex;
+
+	/** Inverted index of the words in the section titles */
+	private TitleIndex titleIndex;
+
+	/** Index of the sections by meeting day and time */
+	private TimeIndex timeIndex;
+
+	/** Index of the sections by instructor */
+	private InstructorIndex instructorIndex;
+
+	/** Short display arrays of all the sections, made when first asked for if the catalog caches them */
+	private volatile String[][] shortDisplay;
+
+	/** Section indexes in each sort order, made when first asked for */
+	private final ConcurrentHashMap<CatalogSortKey, int[]> sortOrders = new ConcurrentHashMap<CatalogSortKey, int[]>();
+
+	/**
+	 * Builds the indexes over the sections of the catalog. Must be called once
+	 * all the sections are stored and before the catalog is used.
+	 */
+	protected final void buildIndexes() {
+		keyIndex = new CatalogKeyIndex(this);
+		nameIndex = new CourseNameIndex(this, getSortOrder(CatalogSortKey.NAME));
+		titleIndex = new TitleIndex(this);
+		timeIndex = new TimeIndex(this);
+		instructorIndex = new InstructorIndex(this, getSortOrder(CatalogSortKey.INSTRUCTOR));
+	}
+
+	/**
+	 * Returns the number of sections in the catalog
+	 * @return the number of sections
+	 */
+	public abstract int size();
+
+	/**
+	 * Returns the packed name and section key of the section at the given index
+	 * @param idx the index of the section
+	 * @return the packed key, or Course.NO_KEY if the section has none
+	 */
+	public abstract long getKey(int idx);
+
+	/**
+	 * Returns the course name of the section at the given index
+	 * @param idx the index of the section
+	 * @return the course name
+	 */
+	public abstract String getName(int idx);
+
+	/**
+	 * Returns the section number of the section at the given index
+	 * @param idx the index of the section
+	 * @return the section
+	 */
+	public abstract String getSection(int idx);
+
+	/**
+	 * Returns the title of the section at the given index
+	 * @param idx the index of the section
+	 * @return the title
+	 */
+	public abstract String getTitle(int idx);
+
+	/**
+	 * Returns the credit hours of the section at the given index
+	 * @param idx the index of the section
+	 * @return the credits
+	 */
+	public abstract int getCredits(int idx);
+
+	/**
+	 * Returns the instructor id of the section at the given index
+	 * @param idx the index of the section
+	 * @return the instructor id
+	 */
+	public abstract String getInstructorId(int idx);
+
+	/**
+	 * Returns the meeting days of the section at the given index
+	 * @param idx the index of the section
+	 * @return the meeting days
+	 */
+	public abstract String getMeetingDays(int idx);
+
+	/**
+	 * Returns the start time of the section at the given index
+	 * @param idx the index of the section
+	 * @return the start time
+	 */
+	public abstract int getStartTime(int idx);
+
+	/**
+	 * Returns the end time of the section at the given index
+	 * @param idx the index of the section
+	 * @return the end time
+	 */
+	public abstract int getEndTime(int idx);
+
+	/**
+	 * Returns the days mask of the meeting days of the section at the given index
+	 * @param idx the index of the section
+	 * @return the days mask
+	 */
+	public int getDaysMask(int idx) {
+		return Activity.getDaysMask(getMeetingDays(idx));
+	}
+
+	/**
+	 * Checks if two sections meet at the same time. Sections overlap when they share a meeting
+	 * day and neither ends before the other starts, so a section ending at 1330 overlaps one
+	 * starting at 1330. Arranged sections never overlap.
+	 * @param first the index of the first section
+	 * @param second the index of the second section
+	 * @return true if the sections overlap
+	 */
+	public boolean overlaps(int first, int second) {
+		return (getDaysMask(first) & getDaysMask(second)) != 0
+				&& getStartTime(first) <= getEndTime(second) && getStartTime(second) <= getEndTime(first);
+	}
+
+	/**
+	 * Returns the section at the given index as a new Course. The catalog is shared, so the
+	 * course is a copy and changing it does not change the catalog or its indexes.
+	 * @param idx the index of the section
+	 * @return the course
+	 */
+	public Course getCourse(int idx) {
+		return new Course(getName(idx), getTitle(idx), getSection(idx), getCredits(idx), getInstructorId(idx),
+				getMeetingDays(idx), getStartTime(idx), getEndTime(idx));
+	}
+
+	/**
+	 * Returns the short display array of the section at the given index
+	 * @param idx the index of the section
+	 * @return the name, section, title and meeting string of the section
+	 */
+	public String[] getShortDisplayArray(int idx) {
+		return getCourse(idx).getShortDisplayArray();
+	}
+
+	/**
+	 * Returns the short display arrays of all the sections. If the catalog caches the display,
+	 * the arrays are made the first time they are asked for and kept, and each caller gets its
+	 * own copy of the rows, which is much cheaper than making them again. Otherwise new arrays
+	 * are made on each call.
+	 * @return a 2D array with the name, section, title and meeting string of each section
+	 */
+	public String[][] getShortDisplayArray() {
+		String[][] display = shortDisplay;
+		if (display == null) {
+			display = new String[size()][];
+			for (int i = 0; i < display.length; i++) {
+				display[i] = getShortDisplayArray(i);
+			}
+			if (!cachesShortDisplay()) {
+				return display;
+			}
+			shortDisplay = display;
+		}
+		String[][] copy = new String[display.length][];
+		for (int i = 0; i < display.length; i++) {
+			copy[i] = display[i].clone();
+		}
+		return copy;
+	}
+
+	/**
+	 * Checks if the short display array of the whole catalog is kept once it is made. Catalogs
+	 * that keep their sections off the heap return false, so rendering the catalog does not
+	 * keep strings for every section on the heap, callers should use the paged display instead.
+	 * @return true if the display is cached
+	 */
+	protected boolean cachesShortDisplay() {
+		return true;
+	}
+
+	/**
+	 * Returns the short display arrays of one page of the sections, only the sections
+	 * on the page are rendered
+	 * @param offset the position of the first section on the page
+	 * @param limit the most sections on the page
+	 * @param sortKey the order of the sections, or null for the catalog order
+	 * @return a 2D array with the name, section, title and meeting string of each section on the page
+	 * @throws IllegalArgumentException if the offset or limit is negative
+	 */
+	public String[][] getShortDisplayArray(int offset, int limit, CatalogSortKey sortKey) {
+		if (offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("Invalid page.");
+		}
+		int end = (int) Math.min(size(), (long) offset + limit);
+		int[] order = sortKey == null ? null : getSortOrder(sortKey);
+		String[][] page = new String[Math.max(0, end - offset)][];
+		for (int i = 0; i < page.length; i++) {
+			page[i] = getShortDisplayArray(order == null ? offset + i : order[offset + i]);
+		}
+		return page;
+	}
+
+	/**
+	 * Returns the indexes of the sections in the given order. The order is sorted
+	 * the first time it is asked for and must not be changed.
+	 * @param sortKey the order of the sections
+	 * @return the section indexes in order
+	 */
+	int[] getSortOrder(CatalogSortKey sortKey) {
+		return sortOrders.computeIfAbsent(sortKey, key -> {
+			Integer[] order = new Integer[size()];
+			for (int i = 0; i < order.length; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, key.comparator(this));
+			int[] sorted = new int[order.length];
+			for (int i = 0; i < order.length; i++) {
+				sorted[i] = order[i];
+			}
+			return sorted;
+		});
+	}
+
+	/**
+	 * Finds the index of the section with the given name and section
+	 * @param name the course name
+	 * @param section the section
+	 * @return the index of the section, or -1 if it is not in the catalog
+	 */
+	public int indexOf(String name, String section) {
+		return keyIndex.indexOf(name, section);
+	}
+
+	/**
+	 * Finds the sections whose course name starts with the given prefix, like "CSC 2"
+	 * @param prefix the start of the course name
+	 * @return the indexes of the matching sections in name and section order
+	 * @throws IllegalArgumentException if the prefix is null
+	 */
+	public int[] searchByNamePrefix(String prefix) {
+		if (prefix == null) {
+			throw new IllegalArgumentException("Invalid search.");
+		}
+		return nameIndex.searchByPrefix(prefix);
+	}
+
+	/**
+	 * Finds the sections of the given department
+	 * @param department the department letters, like "CSC"
+	 * @return the indexes of the sections of the department in name and section order
+	 */
+	public int[] getDepartmentSections(String department) {
+		return nameIndex.getDepartmentSections(department);
+	}
+
+	/**
+	 * Returns the departments that have sections in the catalog
+	 * @return the departments in sorted order
+	 */
+	public String[] getDepartments() {
+		return nameIndex.getDepartments();
+	}
+
+	/**
+	 * Finds the sections with the words of the query in their titles. Words are matched without
+	 * case and the last word of the query also matches longer words it is the start of.
+	 * @param query the words to look for, like "software development"
+	 * @param matchAll true if every word has to be in the title, false if any word is enough
+	 * @return the indexes of the matching sections, best match first
+	 * @throws IllegalArgumentException if the query is null
+	 */
+	public int[] searchTitles(String query, boolean matchAll) {
+		if (query == null) {
+			throw new IllegalArgumentException("Invalid search.");
+		}
+		return titleIndex.search(query, matchAll);
+	}
+
+	/**
+	 * Finds the sections that meet only on the given days, start at or after the given time, and
+	 * end at or before the given time. Searching "TH" from 1300 to 1600 finds the sections meeting
+	 * on Tuesday, Thursday, or both in that window. Searching "A" finds the arranged sections and
+	 * ignores the times.
+	 * @param meetingDays the days to look on, like "TH", or "A" for arranged sections
+	 * @param startAfter the earliest start time
+	 * @param endBefore the latest end time
+	 * @return the indexes of the matching sections sorted by start time
+	 * @throws IllegalArgumentException if the days or times are invalid
+	 */
+	public int[] searchMeetingTimes(String meetingDays, int startAfter, int endBefore) {
+		if (meetingDays == null || "".equals(meetingDays)) {
+			throw new IllegalArgumentException("Invalid meeting days and times.");
+		}
+		if ("A".equals(meetingDays)) {
+			return timeIndex.getArranged();
+		}
+		for (int i = 0; i < meetingDays.length(); i++) {
+			if (Activity.getDaysMask(meetingDays.substring(i, i + 1)) == 0) {
+				throw new IllegalArgumentException("Invalid meeting days and times.");
+			}
+		}
+		if (!isValidTime(startAfter) || !isValidTime(endBefore) || endBefore < startAfter) {
+			throw new IllegalArgumentException("Invalid meeting days and times.");
+		}
+		return timeIndex.search(Activity.getDaysMask(meetingDays), startAfter, endBefore);
+	}
+
+	/**
+	 * Finds the sections taught by the given instructor
+	 * @param instructorId the instructor's id
+	 * @return the indexes of the instructor's sections in name and section order
+	 */
+	public int[] getInstructorSections(String instructorId) {
+		return instructorIndex.getInstructorSections(instructorId);
+	}
+
+	/**
+	 * Returns the instructors that teach sections in the catalog
+	 * @return the instructor ids in sorted order
+	 */
+	public String[] getInstructors() {
+		return instructorIndex.getInstructors();
+	}
+
+	/**
+	 * Returns every pair of sections that have the same instructor and overlap, found when the
+	 * catalog is loaded. An empty result means no instructor is booked twice at the same time.
+	 * @return the pairs of section indexes, grouped by instructor and then by start time
+	 */
+	public int[][] getInstructorConflicts() {
+		return instructorIndex.getConflicts();
+	}
+
+	/**
+	 * Checks if a time is a valid time of day in military time
+	 * @param time the time to check
+	 * @return true if the hour and minute are in range
+	 */
+	private static boolean isValidTime(int time) {
+		return time >= 0 && time / 100 < 24 && time % 100 < 60;
+	}
+
+}
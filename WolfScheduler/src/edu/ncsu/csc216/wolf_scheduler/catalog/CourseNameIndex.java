@@ -0,0 +1,116 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Sorted index of the sections of a catalog by course name and section. A prefix of a course
+ * name like "CSC 2" is found with a binary search and the matching sections are next to each
+ * other, so a search takes log time plus the number of matches. The sections of each department
+ * are also kept as a range of the sorted order.
+ * @author Steven Saleeb
+ */
+class CourseNameIndex {
+
+	/** Section indexes sorted by name and section */
+	private final int[] order;
+	/** Course names in sorted order */
+	private final String[] names;
+	/** Departments in sorted order */
+	private final String[] departments;
+	/** Start and end of the range of each department in the sorted order */
+	private final HashMap<String, int[]> departmentRanges = new HashMap<String, int[]>();
+
+	/**
+	 * Builds the index from the sections of a catalog in name order
+	 * @param catalog the catalog to index
+	 * @param order the section indexes of the catalog sorted by name and section
+	 */
+	CourseNameIndex(CourseCatalog catalog, int[] order) {
+		this.order = order;
+		names = new String[order.length];
+		int start = 0;
+		String department = null;
+		for (int i = 0; i < order.length; i++) {
+			names[i] = catalog.getName(order[i]);
+			String next = department(names[i]);
+			if (!next.equals(department)) {
+				if (department != null) {
+					departmentRanges.put(department, new int[] {start, i});
+				}
+				department = next;
+				start = i;
+			}
+		}
+		if (department != null) {
+			departmentRanges.put(department, new int[] {start, order.length});
+		}
+		departments = departmentRanges.keySet().toArray(new String[0]);
+		Arrays.sort(departments);
+	}
+
+	/**
+	 * Returns the sections whose course name starts with the given prefix, in name and section order
+	 * @param prefix the start of the course name
+	 * @return the indexes of the matching sections
+	 */
+	int[] searchByPrefix(String prefix) {
+		int from = lowerBound(prefix);
+		int to = from;
+		while (to < names.length && names[to].startsWith(prefix)) {
+			to++;
+		}
+		return Arrays.copyOfRange(order, from, to);
+	}
+
+	/**
+	 * Returns the sections of the given department, in name and section order
+	 * @param department the department letters, like "CSC"
+	 * @return the indexes of the sections of the department
+	 */
+	int[] getDepartmentSections(String department) {
+		int[] range = departmentRanges.get(department);
+		if (range == null) {
+			return new int[0];
+		}
+		return Arrays.copyOfRange(order, range[0], range[1]);
+	}
+
+	/**
+	 * Returns the departments of the catalog in sorted order
+	 * @return the departments
+	 */
+	String[] getDepartments() {
+		return departments.clone();
+	}
+
+	/**
+	 * Finds the first position in the sorted names that is not before the given prefix
+	 * @param prefix the prefix to look for
+	 * @return the first position with a name equal to or after the prefix
+	 */
+	private int lowerBound(String prefix) {
+		int low = 0;
+		int high = names.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (names[mid].compareTo(prefix) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the department letters of a course name, which are the characters before the space
+	 * @param name the course name
+	 * @return the department
+	 */
+	static String department(String name) {
+		int space = name.indexOf(' ');
+		return space < 0 ? name : name.substring(0, space);
+	}
+
+}
@@ -0,0 +1,112 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+
+/**
+ * Index of the sections of a catalog by instructor. The sections of each instructor are a range
+ * of the catalog in instructor order. The index also finds every pair of sections an instructor
+ * is booked into at the same time, with a sweep over each instructor's sections by start time.
+ * @author Steven Saleeb
+ */
+class InstructorIndex {
+
+	/** Section indexes sorted by instructor, then name and section */
+	private final int[] order;
+	/** Instructors in sorted order */
+	private final String[] instructors;
+	/** Start and end of the range of each instructor in the sorted order */
+	private final HashMap<String, int[]> instructorRanges = new HashMap<String, int[]>();
+	/** Pairs of sections with the same instructor that meet at the same time */
+	private final int[][] conflicts;
+
+	/**
+	 * Builds the index from the sections of a catalog in instructor order
+	 * @param catalog the catalog to index
+	 * @param order the section indexes of the catalog sorted by instructor
+	 */
+	InstructorIndex(CourseCatalog catalog, int[] order) {
+		this.order = order;
+		ArrayList<int[]> found = new ArrayList<int[]>();
+		int start = 0;
+		for (int i = 1; i <= order.length; i++) {
+			if (i == order.length || !catalog.getInstructorId(order[i]).equals(catalog.getInstructorId(order[start]))) {
+				instructorRanges.put(catalog.getInstructorId(order[start]), new int[] {start, i});
+				sweep(catalog, start, i, found);
+				start = i;
+			}
+		}
+		instructors = instructorRanges.keySet().toArray(new String[0]);
+		Arrays.sort(instructors);
+		conflicts = found.toArray(new int[0][]);
+	}
+
+	/**
+	 * Finds the overlapping sections of one instructor. The timed sections are sorted by start
+	 * time and each one is checked against the sections that have not ended when it starts.
+	 * @param catalog the catalog the sections are in
+	 * @param from the start of the instructor's range in the sorted order
+	 * @param to the end of the instructor's range in the sorted order
+	 * @param found the list to add the overlapping pairs to
+	 */
+	private void sweep(CourseCatalog catalog, int from, int to, ArrayList<int[]> found) {
+		ArrayList<Integer> timed = new ArrayList<Integer>();
+		for (int i = from; i < to; i++) {
+			if (catalog.getDaysMask(order[i]) != 0) {
+				timed.add(order[i]);
+			}
+		}
+		timed.sort(Comparator.comparingInt((Integer i) -> catalog.getStartTime(i)).thenComparingInt(i -> i));
+		int[] active = new int[timed.size()];
+		int size = 0;
+		for (int idx : timed) {
+			int kept = 0;
+			for (int i = 0; i < size; i++) {
+				if (catalog.getEndTime(active[i]) >= catalog.getStartTime(idx)) {
+					active[kept++] = active[i];
+					if (catalog.overlaps(active[i], idx)) {
+						found.add(new int[] {active[i], idx});
+					}
+				}
+			}
+			size = kept;
+			active[size++] = idx;
+		}
+	}
+
+	/**
+	 * Returns the sections of the given instructor, in name and section order
+	 * @param instructorId the instructor's id
+	 * @return the indexes of the instructor's sections
+	 */
+	int[] getInstructorSections(String instructorId) {
+		int[] range = instructorRanges.get(instructorId);
+		if (range == null) {
+			return new int[0];
+		}
+		return Arrays.copyOfRange(order, range[0], range[1]);
+	}
+
+	/**
+	 * Returns the instructors of the catalog in sorted order
+	 * @return the instructor ids
+	 */
+	String[] getInstructors() {
+		return instructors.clone();
+	}
+
+	/**
+	 * Returns the pairs of sections with the same instructor that meet at the same time
+	 * @return the pairs, by instructor and then by start time
+	 */
+	int[][] getConflicts() {
+		int[][] copy = new int[conflicts.length][];
+		for (int i = 0; i < conflicts.length; i++) {
+			copy[i] = conflicts[i].clone();
+		}
+		return copy;
+	}
+
+}
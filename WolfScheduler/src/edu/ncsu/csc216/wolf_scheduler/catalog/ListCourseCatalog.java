@@ -0,0 +1,131 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Course catalog that keeps every section as a Course object in a list.
+ * The courses are copied when the catalog is made and getCourse() returns a new copy,
+ * so the stored courses can not be changed through the catalog after its indexes are built.
+ * @author Steven Saleeb
+ */
+public class ListCourseCatalog extends CourseCatalog {
+
+	/** The sections of the catalog */
+	private final ArrayList<Course> courses;
+
+	/**
+	 * Creates a catalog with copies of the given courses
+	 * @param courses the courses in the catalog
+	 */
+	public ListCourseCatalog(List<Course> courses) {
+		this.courses = new ArrayList<Course>(courses.size());
+		for (Course course : courses) {
+			this.courses.add(new Course(course.getName(), course.getTitle(), course.getSection(), course.getCredits(),
+					course.getInstructorId(), course.getMeetingDays(), course.getStartTime(), course.getEndTime()));
+		}
+		buildIndexes();
+	}
+
+	/**
+	 * Returns the number of sections in the catalog
+	 * @return the number of sections
+	 */
+	@Override
+	public int size() {
+		return courses.size();
+	}
+
+	/**
+	 * Returns the packed name and section key of the section at the given index
+	 * @param idx the index of the section
+	 * @return the packed key, or Course.NO_KEY if the section has none
+	 */
+	@Override
+	public long getKey(int idx) {
+		return courses.get(idx).getKey();
+	}
+
+	/**
+	 * Returns the course name of the section at the given index
+	 * @param idx the index of the section
+	 * @return the course name
+	 */
+	@Override
+	public String getName(int idx) {
+		return courses.get(idx).getName();
+	}
+
+	/**
+	 * Returns the section number of the section at the given index
+	 * @param idx the index of the section
+	 * @return the section
+	 */
+	@Override
+	public String getSection(int idx) {
+		return courses.get(idx).getSection();
+	}
+
+	/**
+	 * Returns the title of the section at the given index
+	 * @param idx the index of the section
+	 * @return the title
+	 */
+	@Override
+	public String getTitle(int idx) {
+		return courses.get(idx).getTitle();
+	}
+
+	/**
+	 * Returns the credit hours of the section at the given index
+	 * @param idx the index of the section
+	 * @return the credits
+	 */
+	@Override
+	public int getCredits(int idx) {
+		return courses.get(idx).getCredits();
+	}
+
+	/**
+	 * Returns the instructor id of the section at the given index
+	 * @param idx the index of the section
+	 * @return the instructor id
+	 */
+	@Override
+	public String getInstructorId(int idx) {
+		return courses.get(idx).getInstructorId();
+	}
+
+	/**
+	 * Returns the meeting days of the section at the given index
+	 * @param idx the index of the section
+	 * @return the meeting days
+	 */
+	@Override
+	public String getMeetingDays(int idx) {
+		return courses.get(idx).getMeetingDays();
+	}
+
+	/**
+	 * Returns the start time of the section at the given index
+	 * @param idx the index of the section
+	 * @return the start time
+	 */
+	@Override
+	public int getStartTime(int idx) {
+		return courses.get(idx).getStartTime();
+	}
+
+	/**
+	 * Returns the end time of the section at the given index
+	 * @param idx the index of the section
+	 * @return the end time
+	 */
+	@Override
+	public int getEndTime(int idx) {
+		return courses.get(idx).getEndTime();
+	}
+
+}
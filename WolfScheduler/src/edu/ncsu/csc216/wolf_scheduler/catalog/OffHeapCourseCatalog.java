@@ -0,0 +1,231 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Course catalog that stores each section as a fixed size record in a direct ByteBuffer,
+ * outside of the Java heap. Strings are kept once in on-heap dictionaries and the records
+ * only hold their ids, so no object is kept on the heap for each section. The search indexes
+ * built by CourseCatalog are still on the heap and take a few ints and longs per section,
+ * and the rendered catalog is not cached, so large catalogs should be shown a page at a time.
+ * The accessors read the fields straight from the buffer and Course objects are only
+ * made when a section is asked for.
+ * @author Steven Saleeb
+ */
+public class OffHeapCourseCatalog extends CourseCatalog {
+
+	/** Size in bytes of a section record */
+	private static final int RECORD_SIZE = 40;
+	/** Offset of the packed key */
+	private static final int KEY = 0;
+	/** Offset of the name id */
+	private static final int NAME = 8;
+	/** Offset of the section id */
+	private static final int SECTION = 12;
+	/** Offset of the title id */
+	private static final int TITLE = 16;
+	/** Offset of the instructor id */
+	private static final int INSTRUCTOR = 20;
+	/** Offset of the meeting days id */
+	private static final int MEETING_DAYS = 24;
+	/** Offset of the start time */
+	private static final int START_TIME = 28;
+	/** Offset of the end time */
+	private static final int END_TIME = 30;
+	/** Offset of the credits */
+	private static final int CREDITS = 32;
+	/** Offset of the days mask */
+	private static final int DAYS_MASK = 33;
+	/** Most sections whose records fit in one buffer */
+	public static final int MAX_SIZE = Integer.MAX_VALUE / RECORD_SIZE;
+
+	/** Number of sections */
+	private final int size;
+	/** The section records */
+	private final ByteBuffer records;
+	/** Dictionary of names and sections */
+	private final StringDictionary nameDictionary = new StringDictionary();
+	/** Dictionary of titles */
+	private final StringDictionary titleDictionary = new StringDictionary();
+	/** Dictionary of instructor ids */
+	private final StringDictionary instructorDictionary = new StringDictionary();
+	/** Dictionary of meeting days */
+	private final StringDictionary daysDictionary = new StringDictionary();
+
+	/**
+	 * Creates a catalog with the sections of the given courses
+	 * @param courses the courses in the catalog
+	 * @throws IllegalArgumentException if there are more than MAX_SIZE courses
+	 */
+	public OffHeapCourseCatalog(List<Course> courses) {
+		size = courses.size();
+		long bytes = (long) size * RECORD_SIZE;
+		if (bytes > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Catalog is too large.");
+		}
+		records = ByteBuffer.allocateDirect((int) Math.max(1, bytes));
+		for (int i = 0; i < size; i++) {
+			Course c = courses.get(i);
+			int offset = i * RECORD_SIZE;
+			records.putLong(offset + KEY, c.getKey());
+			records.putInt(offset + NAME, nameDictionary.encode(c.getName()));
+			records.putInt(offset + SECTION, nameDictionary.encode(c.getSection()));
+			records.putInt(offset + TITLE, titleDictionary.encode(c.getTitle()));
+			records.putInt(offset + INSTRUCTOR, instructorDictionary.encode(c.getInstructorId()));
+			records.putInt(offset + MEETING_DAYS, daysDictionary.encode(c.getMeetingDays()));
+			records.putShort(offset + START_TIME, (short) c.getStartTime());
+			records.putShort(offset + END_TIME, (short) c.getEndTime());
+			records.put(offset + CREDITS, (byte) c.getCredits());
+			records.put(offset + DAYS_MASK, (byte) c.getMeetingDaysMask());
+		}
+		nameDictionary.freeze();
+		titleDictionary.freeze();
+		instructorDictionary.freeze();
+		daysDictionary.freeze();
+		buildIndexes();
+	}
+
+	/**
+	 * Returns the number of bytes of section records stored outside of the heap
+	 * @return the off-heap size in bytes
+	 */
+	public long getOffHeapBytes() {
+		return (long) size * RECORD_SIZE;
+	}
+
+	/**
+	 * Returns the offset of the record of the section at the given index
+	 * @param idx the index of the section
+	 * @return the offset of the record
+	 * @throws IndexOutOfBoundsException if the index is not in the catalog
+	 */
+	private int offset(int idx) {
+		if (idx < 0 || idx >= size) {
+			throw new IndexOutOfBoundsException("Index " + idx + " out of bounds for length " + size);
+		}
+		return idx * RECORD_SIZE;
+	}
+
+	/**
+	 * Returns the number of sections in the catalog
+	 * @return the number of sections
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the packed key of the section at the given index
+	 * @param idx the index of the section
+	 * @return the packed key
+	 */
+	@Override
+	public long getKey(int idx) {
+		return records.getLong(offset(idx) + KEY);
+	}
+
+	/**
+	 * Returns the course name of the section at the given index
+	 * @param idx the index of the section
+	 * @return the course name
+	 */
+	@Override
+	public String getName(int idx) {
+		return nameDictionary.decode(records.getInt(offset(idx) + NAME));
+	}
+
+	/**
+	 * Returns the section number of the section at the given index
+	 * @param idx the index of the section
+	 * @return the section
+	 */
+	@Override
+	public String getSection(int idx) {
+		return nameDictionary.decode(records.getInt(offset(idx) + SECTION));
+	}
+
+	/**
+	 * Returns the title of the section at the given index
+	 * @param idx the index of the section
+	 * @return the title
+	 */
+	@Override
+	public String getTitle(int idx) {
+		return titleDictionary.decode(records.getInt(offset(idx) + TITLE));
+	}
+
+	/**
+	 * Returns the credit hours of the section at the given index
+	 * @param idx the index of the section
+	 * @return the credits
+	 */
+	@Override
+	public int getCredits(int idx) {
+		return records.get(offset(idx) + CREDITS);
+	}
+
+	/**
+	 * Returns the instructor id of the section at the given index
+	 * @param idx the index of the section
+	 * @return the instructor id
+	 */
+	@Override
+	public String getInstructorId(int idx) {
+		return instructorDictionary.decode(records.getInt(offset(idx) + INSTRUCTOR));
+	}
+
+	/**
+	 * Returns the meeting days of the section at the given index
+	 * @param idx the index of the section
+	 * @return the meeting days
+	 */
+	@Override
+	public String getMeetingDays(int idx) {
+		return daysDictionary.decode(records.getInt(offset(idx) + MEETING_DAYS));
+	}
+
+	/**
+	 * Returns the start time of the section at the given index
+	 * @param idx the index of the section
+	 * @return the start time
+	 */
+	@Override
+	public int getStartTime(int idx) {
+		return records.getShort(offset(idx) + START_TIME);
+	}
+
+	/**
+	 * Returns the end time of the section at the given index
+	 * @param idx the index of the section
+	 * @return the end time
+	 */
+	@Override
+	public int getEndTime(int idx) {
+		return records.getShort(offset(idx) + END_TIME);
+	}
+
+	/**
+	 * Returns the days mask of the section at the given index
+	 * @param idx the index of the section
+	 * @return the days mask
+	 */
+	@Override
+	public int getDaysMask(int idx) {
+		return records.get(offset(idx) + DAYS_MASK);
+	}
+
+	/**
+	 * Does not cache the short display array of the whole catalog, so the display of every
+	 * section is not kept on the heap
+	 * @return false
+	 */
+	@Override
+	protected boolean cachesShortDisplay() {
+		return false;
+	}
+
+}
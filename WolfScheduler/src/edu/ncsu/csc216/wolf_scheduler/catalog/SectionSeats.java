@@ -0,0 +1,220 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Seat counts of the sections of a catalog, shared by every student session. A seat is taken
+ * with a compare and set loop on the section's own counter that only moves the count up while
+ * it is under the capacity, so a section is never over enrolled and enrolling in different
+ * sections never waits on a lock. Each counter sits on its own cache line so busy sections do
+ * not slow down the counters next to them.
+ * Each section also counts the students waiting for it. While any student waits, tryEnroll()
+ * fails and open seats can only be taken with tryEnrollWaiting(), so a seat given back goes to
+ * the waitlist and not to whoever asks first.
+ * @author Steven Saleeb
+ */
+public final class SectionSeats {
+
+	/** Ints between the counters of two sections, so each section has a 64 byte cache line to itself */
+	private static final int STRIDE = 16;
+
+	/** Capacity of each section */
+	private final int[] capacities;
+	/** Offset of the waiting count from the enrolled count of a section */
+	private static final int WAITING = 1;
+
+	/** Enrolled count of each section at STRIDE times the section index, followed by its waiting count */
+	private final AtomicIntegerArray counts;
+
+	/**
+	 * Gives every section of the catalog the same capacity
+	 * @param catalog the catalog of the sections
+	 * @param capacity the capacity of each section
+	 * @throws IllegalArgumentException if the catalog is null or the capacity is negative
+	 */
+	public SectionSeats(CourseCatalog catalog, int capacity) {
+		this(sameCapacities(catalog, capacity));
+	}
+
+	/**
+	 * Gives each section of a catalog its own capacity
+	 * @param capacities the capacity of each section by catalog index
+	 * @throws IllegalArgumentException if the capacities are null or any capacity is negative
+	 */
+	public SectionSeats(int[] capacities) {
+		if (capacities == null) {
+			throw new IllegalArgumentException("Invalid capacity.");
+		}
+		for (int capacity : capacities) {
+			if (capacity < 0) {
+				throw new IllegalArgumentException("Invalid capacity.");
+			}
+		}
+		this.capacities = capacities.clone();
+		counts = new AtomicIntegerArray(capacities.length * STRIDE);
+	}
+
+	/**
+	 * Makes an array with the same capacity for each section of a catalog
+	 * @param catalog the catalog of the sections
+	 * @param capacity the capacity of each section
+	 * @return the capacities
+	 * @throws IllegalArgumentException if the catalog is null
+	 */
+	private static int[] sameCapacities(CourseCatalog catalog, int capacity) {
+		if (catalog == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		int[] capacities = new int[catalog.size()];
+		Arrays.fill(capacities, capacity);
+		return capacities;
+	}
+
+	/**
+	 * Returns the number of sections
+	 * @return the number of sections
+	 */
+	public int size() {
+		return capacities.length;
+	}
+
+	/**
+	 * Returns the capacity of a section
+	 * @param idx the catalog index of the section
+	 * @return the capacity
+	 */
+	public int getCapacity(int idx) {
+		return capacities[idx];
+	}
+
+	/**
+	 * Returns the number of students enrolled in a section
+	 * @param idx the catalog index of the section
+	 * @return the enrolled count
+	 */
+	public int getEnrolled(int idx) {
+		checkIndex(idx);
+		return counts.get(idx * STRIDE);
+	}
+
+	/**
+	 * Returns the number of open seats in a section
+	 * @param idx the catalog index of the section
+	 * @return the open seats
+	 */
+	public int getOpenSeats(int idx) {
+		return capacities[idx] - getEnrolled(idx);
+	}
+
+	/**
+	 * Takes a seat in a section if there is one open and no student is waiting for it
+	 * @param idx the catalog index of the section
+	 * @return true if a seat was taken, false if the section is full or has a waitlist
+	 */
+	public boolean tryEnroll(int idx) {
+		checkIndex(idx);
+		if (counts.get(idx * STRIDE + WAITING) > 0) {
+			return false;
+		}
+		return takeSeat(idx);
+	}
+
+	/**
+	 * Takes a seat in a section for a student leaving its waitlist, even while others wait
+	 * @param idx the catalog index of the section
+	 * @return true if a seat was taken, false if the section is full
+	 */
+	public boolean tryEnrollWaiting(int idx) {
+		checkIndex(idx);
+		return takeSeat(idx);
+	}
+
+	/**
+	 * Takes a seat in a section if there is one open
+	 * @param idx the catalog index of the section
+	 * @return true if a seat was taken, false if the section is full
+	 */
+	private boolean takeSeat(int idx) {
+		int capacity = capacities[idx];
+		int slot = idx * STRIDE;
+		while (true) {
+			int count = counts.get(slot);
+			if (count >= capacity) {
+				return false;
+			}
+			if (counts.compareAndSet(slot, count, count + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of students waiting for a section
+	 * @param idx the catalog index of the section
+	 * @return the waiting count
+	 */
+	public int getWaiting(int idx) {
+		checkIndex(idx);
+		return counts.get(idx * STRIDE + WAITING);
+	}
+
+	/**
+	 * Counts a student who starts waiting for a section
+	 * @param idx the catalog index of the section
+	 */
+	public void addWaiting(int idx) {
+		checkIndex(idx);
+		counts.incrementAndGet(idx * STRIDE + WAITING);
+	}
+
+	/**
+	 * Stops counting a student who is no longer waiting for a section
+	 * @param idx the catalog index of the section
+	 * @throws IllegalStateException if no students are waiting for the section
+	 */
+	public void removeWaiting(int idx) {
+		checkIndex(idx);
+		int slot = idx * STRIDE + WAITING;
+		while (true) {
+			int count = counts.get(slot);
+			if (count == 0) {
+				throw new IllegalStateException("No students waiting.");
+			}
+			if (counts.compareAndSet(slot, count, count - 1)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Gives back a seat taken in a section
+	 * @param idx the catalog index of the section
+	 * @throws IllegalStateException if no seats are taken in the section
+	 */
+	public void release(int idx) {
+		checkIndex(idx);
+		int slot = idx * STRIDE;
+		while (true) {
+			int count = counts.get(slot);
+			if (count == 0) {
+				throw new IllegalStateException("No seats taken.");
+			}
+			if (counts.compareAndSet(slot, count, count - 1)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Checks that an index is a section index
+	 * @param idx the index to check
+	 * @throws IndexOutOfBoundsException if the index is not a section
+	 */
+	private void checkIndex(int idx) {
+		if (idx < 0 || idx >= capacities.length) {
+			throw new IndexOutOfBoundsException("Index " + idx + " out of bounds for length " + capacities.length);
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Dictionary that gives each distinct string an int id, so catalogs can store a
+ * repeated string like a title or an instructor id once and refer to it by id.
+ * Once a catalog is built it calls freeze(), which drops the map of ids and keeps only
+ * the strings, since ids are only looked up while encoding.
+ * @author Steven Saleeb
+ */
+class StringDictionary {
+
+	/** Ids of the strings in the dictionary, null once the dictionary is frozen */
+	private HashMap<String, Integer> ids = new HashMap<String, Integer>();
+
+	/** Strings in the dictionary by id */
+	private final ArrayList<String> values = new ArrayList<String>();
+
+	/**
+	 * Returns the id of the given string, adding it to the dictionary if it is new
+	 * @param value the string
+	 * @return the id of the string
+	 * @throws IllegalStateException if the dictionary is frozen
+	 */
+	int encode(String value) {
+		if (ids == null) {
+			throw new IllegalStateException("Dictionary is frozen.");
+		}
+		Integer id = ids.get(value);
+		if (id == null) {
+			id = values.size();
+			ids.put(value, id);
+			values.add(value);
+		}
+		return id;
+	}
+
+	/**
+	 * Stops adding strings and drops the map used to find their ids
+	 */
+	void freeze() {
+		ids = null;
+		values.trimToSize();
+	}
+
+	/**
+	 * Returns the string with the given id
+	 * @param id the id of the string
+	 * @return the string
+	 */
+	String decode(int id) {
+		return values.get(id);
+	}
+
+	/**
+	 * Returns the number of distinct strings in the dictionary
+	 * @return the number of strings
+	 */
+	int size() {
+		return values.size();
+	}
+
+}
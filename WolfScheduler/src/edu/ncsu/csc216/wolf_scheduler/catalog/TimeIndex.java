@@ -0,0 +1,176 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Index of the sections of a catalog by meeting day and time. Each day of the week keeps the
+ * sections meeting on it sorted by start time, so the sections starting in a time window are
+ * found with a binary search and are next to each other. Arranged sections have no days or
+ * times and are kept in their own list.
+ * @author Steven Saleeb
+ */
+class TimeIndex {
+
+	/** Number of days in a days mask */
+	private static final int DAYS = 7;
+
+	/** Section indexes meeting on each day, sorted by start time */
+	private final int[][] orders = new int[DAYS][];
+	/** Start times of the sections of each day, in the same order */
+	private final int[][] starts = new int[DAYS][];
+	/** Arranged section indexes in catalog order */
+	private final int[] arranged;
+	/** Days mask of each section */
+	private final int[] masks;
+	/** Start time of each section */
+	private final int[] startTimes;
+	/** End time of each section */
+	private final int[] ends;
+
+	/**
+	 * Builds the index from the meeting days and times of the sections of a catalog
+	 * @param catalog the catalog to index
+	 */
+	TimeIndex(CourseCatalog catalog) {
+		int size = catalog.size();
+		masks = new int[size];
+		ends = new int[size];
+		startTimes = new int[size];
+		int[] counts = new int[DAYS];
+		int arrangedCount = 0;
+		for (int i = 0; i < size; i++) {
+			masks[i] = catalog.getDaysMask(i);
+			ends[i] = catalog.getEndTime(i);
+			startTimes[i] = catalog.getStartTime(i);
+			if (masks[i] == 0) {
+				arrangedCount++;
+			}
+			for (int day = 0; day < DAYS; day++) {
+				if ((masks[i] & 1 << day) != 0) {
+					counts[day]++;
+				}
+			}
+		}
+		arranged = new int[arrangedCount];
+		Integer[][] byDay = new Integer[DAYS][];
+		for (int day = 0; day < DAYS; day++) {
+			byDay[day] = new Integer[counts[day]];
+			counts[day] = 0;
+		}
+		arrangedCount = 0;
+		for (int i = 0; i < size; i++) {
+			if (masks[i] == 0) {
+				arranged[arrangedCount++] = i;
+			}
+			for (int day = 0; day < DAYS; day++) {
+				if ((masks[i] & 1 << day) != 0) {
+					byDay[day][counts[day]++] = i;
+				}
+			}
+		}
+		Comparator<Integer> byStart = Comparator.comparingInt((Integer i) -> startTimes[i]).thenComparingInt(i -> i);
+		for (int day = 0; day < DAYS; day++) {
+			Arrays.sort(byDay[day], byStart);
+			orders[day] = new int[byDay[day].length];
+			starts[day] = new int[byDay[day].length];
+			for (int i = 0; i < byDay[day].length; i++) {
+				orders[day][i] = byDay[day][i];
+				starts[day][i] = startTimes[byDay[day][i]];
+			}
+		}
+	}
+
+	/**
+	 * Finds the sections that meet only on the given days and fit in the given time window.
+	 * A section meeting on several days is found in the list of its first day, so it is only
+	 * looked at once. The matches of each day are already in start order, so the days are
+	 * merged instead of sorted and the work only grows with the sections in the window.
+	 * @param daysMask the days mask of the days to look on, not empty
+	 * @param startAfter the earliest start time
+	 * @param endBefore the latest end time
+	 * @return the indexes of the matching sections sorted by start time
+	 */
+	int[] search(int daysMask, int startAfter, int endBefore) {
+		int[] found = new int[16];
+		int size = 0;
+		//Each run holds the matches of one day, from runPos up to runEnd
+		int[] runPos = new int[DAYS];
+		int[] runEnd = new int[DAYS];
+		int runs = 0;
+		for (int day = 0; day < DAYS; day++) {
+			if ((daysMask & 1 << day) == 0) {
+				continue;
+			}
+			int[] order = orders[day];
+			runPos[runs] = size;
+			for (int i = lowerBound(starts[day], startAfter); i < order.length && starts[day][i] <= endBefore; i++) {
+				int idx = order[i];
+				int mask = masks[idx];
+				if ((mask & ~daysMask) == 0 && Integer.numberOfTrailingZeros(mask) == day && ends[idx] <= endBefore) {
+					if (size == found.length) {
+						found = Arrays.copyOf(found, size * 2);
+					}
+					found[size++] = idx;
+				}
+			}
+			if (size > runPos[runs]) {
+				runEnd[runs++] = size;
+			}
+		}
+		if (runs <= 1) {
+			return Arrays.copyOf(found, size);
+		}
+		int[] sorted = new int[size];
+		for (int k = 0; k < size; k++) {
+			int best = -1;
+			for (int r = 0; r < runs; r++) {
+				if (runPos[r] < runEnd[r] && (best < 0 || startsBefore(found[runPos[r]], found[runPos[best]]))) {
+					best = r;
+				}
+			}
+			sorted[k] = found[runPos[best]++];
+		}
+		return sorted;
+	}
+
+	/**
+	 * Checks if a section comes before another in start order, sections starting at the same
+	 * time are in catalog order
+	 * @param a the index of the first section
+	 * @param b the index of the second section
+	 * @return true if the first section comes first
+	 */
+	private boolean startsBefore(int a, int b) {
+		return startTimes[a] < startTimes[b] || startTimes[a] == startTimes[b] && a < b;
+	}
+
+	/**
+	 * Returns the arranged sections, which have no meeting days or times
+	 * @return the indexes of the arranged sections in catalog order
+	 */
+	int[] getArranged() {
+		return arranged.clone();
+	}
+
+	/**
+	 * Finds the first position in a sorted array that is not less than the given value
+	 * @param values the sorted values
+	 * @param value the value to look for
+	 * @return the first position with a value equal to or after the given value
+	 */
+	private static int lowerBound(int[] values, int value) {
+		int low = 0;
+		int high = values.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] < value) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+}
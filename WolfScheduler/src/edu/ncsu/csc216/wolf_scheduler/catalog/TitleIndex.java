@@ -0,0 +1,228 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Inverted index of the words in the titles of the sections of a catalog. Each word has a
+ * posting list, a sorted array of the indexes of the sections with that word in their title.
+ * Words are lower case letters and digits, anything else separates words. The last word of a
+ * query also matches every word it is the start of, so results can be shown while the student types.
+ * @author Steven Saleeb
+ */
+class TitleIndex {
+
+	/** Words of all the titles in sorted order */
+	private final String[] words;
+	/** Posting list of each word, in the same order as the words */
+	private final int[][] postings;
+	/** Length of the title of each section, used to rank the results */
+	private final int[] titleLengths;
+
+	/**
+	 * Builds the index from the titles of the sections of a catalog
+	 * @param catalog the catalog to index
+	 */
+	TitleIndex(CourseCatalog catalog) {
+		HashMap<String, int[]> lists = new HashMap<String, int[]>();
+		titleLengths = new int[catalog.size()];
+		for (int i = 0; i < catalog.size(); i++) {
+			String title = catalog.getTitle(i);
+			titleLengths[i] = title.length();
+			for (String word : tokenize(title)) {
+				int[] list = lists.get(word);
+				if (list == null) {
+					list = new int[] {0, 0, 0, 0};
+					lists.put(word, list);
+				}
+				//The first element is the number of postings in the list
+				int count = list[0];
+				if (count == 0 || list[count] != i) {
+					if (count + 1 == list.length) {
+						list = Arrays.copyOf(list, list.length * 2);
+						lists.put(word, list);
+					}
+					list[count + 1] = i;
+					list[0] = count + 1;
+				}
+			}
+		}
+		words = lists.keySet().toArray(new String[0]);
+		Arrays.sort(words);
+		postings = new int[words.length][];
+		for (int i = 0; i < words.length; i++) {
+			int[] list = lists.get(words[i]);
+			postings[i] = Arrays.copyOfRange(list, 1, list[0] + 1);
+		}
+	}
+
+	/**
+	 * Finds the sections with the words of the query in their titles. When all the words have to
+	 * match, shorter titles come first. Otherwise sections matching more words come first, then
+	 * shorter titles. Sections that rank the same stay in catalog order.
+	 * @param query the words to look for
+	 * @param matchAll true if every word has to be in the title, false if any word is enough
+	 * @return the indexes of the matching sections, best match first
+	 */
+	int[] search(String query, boolean matchAll) {
+		String[] terms = tokenize(query);
+		if (terms.length == 0) {
+			return new int[0];
+		}
+		int[][] termPostings = new int[terms.length][];
+		for (int i = 0; i < terms.length; i++) {
+			termPostings[i] = i == terms.length - 1 ? prefixPostings(terms[i]) : exactPostings(terms[i]);
+		}
+		if (matchAll) {
+			Arrays.sort(termPostings, (a, b) -> Integer.compare(a.length, b.length));
+			int[] result = termPostings[0];
+			for (int i = 1; i < termPostings.length && result.length > 0; i++) {
+				result = intersect(result, termPostings[i]);
+			}
+			return rank(result, null);
+		}
+		int total = 0;
+		for (int[] list : termPostings) {
+			total += list.length;
+		}
+		int[] all = new int[total];
+		int pos = 0;
+		for (int[] list : termPostings) {
+			System.arraycopy(list, 0, all, pos, list.length);
+			pos += list.length;
+		}
+		Arrays.sort(all);
+		int[] matched = new int[all.length];
+		int[] counts = new int[all.length];
+		int size = 0;
+		for (int i = 0; i < all.length; i++) {
+			if (size > 0 && matched[size - 1] == all[i]) {
+				counts[size - 1]++;
+			} else {
+				matched[size] = all[i];
+				counts[size] = 1;
+				size++;
+			}
+		}
+		return rank(Arrays.copyOf(matched, size), Arrays.copyOf(counts, size));
+	}
+
+	/**
+	 * Sorts matching sections by rank
+	 * @param matched the matching sections in catalog order
+	 * @param counts the number of words each section matched, or null if they all matched every word
+	 * @return the sections in rank order
+	 */
+	private int[] rank(int[] matched, int[] counts) {
+		Integer[] order = new Integer[matched.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> {
+			if (counts != null && counts[a] != counts[b]) {
+				return Integer.compare(counts[b], counts[a]);
+			}
+			int byLength = Integer.compare(titleLengths[matched[a]], titleLengths[matched[b]]);
+			return byLength != 0 ? byLength : Integer.compare(matched[a], matched[b]);
+		});
+		int[] ranked = new int[matched.length];
+		for (int i = 0; i < order.length; i++) {
+			ranked[i] = matched[order[i]];
+		}
+		return ranked;
+	}
+
+	/**
+	 * Returns the posting list of a word
+	 * @param word the word
+	 * @return the sections with the word in their title
+	 */
+	private int[] exactPostings(String word) {
+		int pos = Arrays.binarySearch(words, word);
+		return pos < 0 ? new int[0] : postings[pos];
+	}
+
+	/**
+	 * Returns the sections with a word in their title that starts with the given prefix
+	 * @param prefix the start of the word
+	 * @return the sections in catalog order
+	 */
+	private int[] prefixPostings(String prefix) {
+		int from = Arrays.binarySearch(words, prefix);
+		if (from < 0) {
+			from = -from - 1;
+		}
+		int to = from;
+		while (to < words.length && words[to].startsWith(prefix)) {
+			to++;
+		}
+		if (to - from == 1) {
+			return postings[from];
+		}
+		int total = 0;
+		for (int i = from; i < to; i++) {
+			total += postings[i].length;
+		}
+		int[] all = new int[total];
+		int pos = 0;
+		for (int i = from; i < to; i++) {
+			System.arraycopy(postings[i], 0, all, pos, postings[i].length);
+			pos += postings[i].length;
+		}
+		Arrays.sort(all);
+		int size = 0;
+		for (int i = 0; i < all.length; i++) {
+			if (size == 0 || all[size - 1] != all[i]) {
+				all[size++] = all[i];
+			}
+		}
+		return Arrays.copyOf(all, size);
+	}
+
+	/**
+	 * Returns the sections that are in both sorted lists
+	 * @param a the first sorted list
+	 * @param b the second sorted list
+	 * @return the sections in both lists in sorted order
+	 */
+	private static int[] intersect(int[] a, int[] b) {
+		int[] result = new int[Math.min(a.length, b.length)];
+		int size = 0;
+		int i = 0;
+		int j = 0;
+		while (i < a.length && j < b.length) {
+			if (a[i] < b[j]) {
+				i++;
+			} else if (a[i] > b[j]) {
+				j++;
+			} else {
+				result[size++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return Arrays.copyOf(result, size);
+	}
+
+	/**
+	 * Splits text into lower case words of letters and digits
+	 * @param text the text to split
+	 * @return the words in the order they are in the text
+	 */
+	static String[] tokenize(String text) {
+		ArrayList<String> tokens = new ArrayList<String>();
+		StringBuilder word = new StringBuilder();
+		for (int i = 0; i <= text.length(); i++) {
+			char c = i < text.length() ? text.charAt(i) : ' ';
+			if (Character.isLetterOrDigit(c)) {
+				word.append(Character.toLowerCase(c));
+			} else if (word.length() > 0) {
+				tokens.add(word.toString());
+				word.setLength(0);
+			}
+		}
+		return tokens.toArray(new String[0]);
+	}
+
+}
@@ -3,14 +3,28 @@ package edu.ncsu.csc216.wolf_scheduler.course;
 /**
  * Abstract activity class that represent the activities like course or event, 
  * it stores the title, meeting days, the start time and the end time.
+ * The only kinds of activities are Course and Event, each activity stores its kind
+ * so checks across activities can switch on it instead of testing the class.
  * @author Steven Saleeb
  */
-public abstract class Activity {
+public abstract sealed class Activity permits Course, Event {
+
+	/**
+	 * The kinds of activities that can be in a schedule
+	 */
+	public enum Kind {
+		/** A course from the catalog */
+		COURSE,
+		/** An event created by the student */
+		EVENT
+	}
 
 	/** Upper possible hour */
 	private static final int UPPER_HOUR = 24;
 	/** Upper possible minute */
 	private static final int UPPER_MINUTE = 60;
+	/** Meeting day letters in the order of their bits in a days mask */
+	private static final String DAY_LETTERS = "MTWHFSU";
 	/** Course's title. */
 	private String title;
 	/** Course's meeting days */
@@ -19,21 +33,35 @@ public abstract class Activity {
 	private int startTime;
 	/** Course's ending time */
 	private int endTime;
+	/** The kind of the activity */
+	private final Kind kind;
 
 	/**
 	 * Creates a new activity with a title, meeting days, start time, and end time.
 	 * It is responsible to set the title and the meeting information.
+	 * Only Course and Event in this package can call it, so each picks its own kind.
+	 * @param kind the kind of the activity
 	 * @param title the title of the activity
 	 * @param meetingDays the meeting days of the activity
 	 * @param startTime the start time of the activity
 	 * @param endTime the end time of the activity
 	 */
-	public Activity(String title, String meetingDays, int startTime, int endTime) {
+	Activity(Kind kind, String title, String meetingDays, int startTime, int endTime) {
         super();
+        this.kind = kind;
         setTitle(title);
         setMeetingDaysAndTime(meetingDays, startTime, endTime);
     }
 
+	/**
+	 * Returns the kind of the activity
+	 * 
+	 * @return the kind
+	 */
+	public final Kind getKind() {
+	    return kind;
+	}
+
 	/**
 	 * Returns the Course's title
 	 * 
@@ -66,6 +94,33 @@ public abstract class Activity {
 	    return meetingDays;
 	}
 
+	/**
+	 * Returns the Course's meeting days as a days mask
+	 * 
+	 * @return the days mask of the meeting days
+	 */
+	public int getMeetingDaysMask() {
+	    return getDaysMask(meetingDays);
+	}
+
+	/**
+	 * Returns the days mask of the given meeting days, bit 0 is Monday up to bit 6 for Sunday.
+	 * Arranged meeting days ("A") have an empty mask.
+	 * 
+	 * @param meetingDays the meeting days
+	 * @return the days mask
+	 */
+	public static int getDaysMask(String meetingDays) {
+	    int mask = 0;
+	    for (int i = 0; i < meetingDays.length(); i++) {
+	        int day = DAY_LETTERS.indexOf(meetingDays.charAt(i));
+	        if (day >= 0) {
+	            mask |= 1 << day;
+	        }
+	    }
+	    return mask;
+	}
+
 	/**
 	 * Returns the Course's start time
 	 * 
@@ -139,11 +194,20 @@ public abstract class Activity {
 	public abstract String[] getLongDisplayArray();
 	
 	/**
-	 * checks if there is a duplication in the activities
+	 * checks if there is a duplication in the activities, a course is a duplicate of 
+	 * a course with the same name and an event is a duplicate of an event with the same title
 	 * @param activity the activity to compare 
 	 * @return true if it is duplicate and false if it is not
 	 */
-	public abstract boolean isDuplicate(Activity activity);
+	public final boolean isDuplicate(Activity activity) {
+		if (activity == null || activity.kind != kind) {
+			return false;
+		}
+		return switch (kind) {
+			case COURSE -> ((Course) this).hasSameName((Course) activity);
+			case EVENT -> title.equals(activity.title);
+		};
+	}
 
 	/**
 	 * Returns a string representation of the Course's meeting days and times.
@@ -9,7 +9,7 @@ package edu.ncsu.csc216.wolf_scheduler.course;
  * This class checks that everything is valid.
  * @author Steven Saleeb
  */
-public class Course extends Activity {
+public final class Course extends Activity {
 
 	/** Course's name. */
 	private String name;
@@ -23,6 +23,18 @@ public class Course extends Activity {
 	/** Course's instructor */
 	private String instructorId;
 
+	/** Course's packed name and section key, or NO_KEY if the name or section can not be packed */
+	private long key;
+
+	/** Key value for a name and section that can not be packed into a long */
+	public static final long NO_KEY = 0L;
+
+	/** Number of bits used for the course number and for the section in a packed key */
+	private static final int NUMBER_BITS = 10;
+
+	/** Number of bits used for each department letter in a packed key */
+	private static final int LETTER_BITS = 6;
+
 	/** Minimum name length */
 	private static final int MIN_NAME_LENGTH = 5;
 
@@ -60,7 +72,7 @@ public class Course extends Activity {
 	 */
 	public Course(String name, String title, String section, int credits, String instructorId, String meetingDays,
             int startTime, int endTime) {
-        super(title, meetingDays, startTime, endTime);
+        super(Kind.COURSE, title, meetingDays, startTime, endTime);
         setName(name);
         setSection(section);
         setCredits(credits);
@@ -137,6 +149,7 @@ public class Course extends Activity {
 			throw new IllegalArgumentException("Invalid course name.");
 		}
 		this.name = name;
+		this.key = packKey(name, section);
 	}
 
 	/**
@@ -164,6 +177,95 @@ public class Course extends Activity {
 		}
 
 		this.section = section;
+		this.key = packKey(name, section);
+	}
+
+	/**
+	 * Gets the packed key of the course name and section. Two courses with a key other
+	 * than NO_KEY have the same name and section if and only if their keys are equal.
+	 * @return the packed key, or NO_KEY if the name or section can not be packed
+	 */
+	public long getKey() {
+		return key;
+	}
+
+	/**
+	 * Gets the part of the packed key that only depends on the course name.
+	 * @return the packed name key, or NO_KEY if the name or section can not be packed
+	 */
+	public long getNameKey() {
+		return key >>> NUMBER_BITS;
+	}
+
+	/**
+	 * Checks if the given course has the same name and section as this course,
+	 * comparing the packed keys when both courses have one
+	 * @param other the course to compare
+	 * @return true if the name and section are the same, false if not
+	 */
+	public boolean hasSameNameAndSection(Course other) {
+		if (key != NO_KEY && other.key != NO_KEY) {
+			return key == other.key;
+		}
+		return name.equals(other.name) && section.equals(other.section);
+	}
+
+	/**
+	 * Packs a course name and section into a long. The department letters take 6 bits each
+	 * (A-Z as 1-26 and a-z as 27-52, left aligned), followed by 10 bits for the course number
+	 * and 10 bits for the section. Only names with 1 to 4 ASCII letters, a space and 3 ASCII digits
+	 * and sections with 3 ASCII digits can be packed, anything else returns NO_KEY.
+	 * @param name the course name
+	 * @param section the course section
+	 * @return the packed key or NO_KEY if the name or section can not be packed
+	 */
+	public static long packKey(String name, String section) {
+		if (name == null || section == null || section.length() != SECTION_LENGTH) {
+			return NO_KEY;
+		}
+		int space = name.indexOf(' ');
+		if (space < MIN_LETTER_COUNT || space > MAX_LETTER_COUNT || name.length() != space + 1 + DIGIT_COUNT) {
+			return NO_KEY;
+		}
+		long letters = 0;
+		for (int i = 0; i < MAX_LETTER_COUNT; i++) {
+			int code = 0;
+			if (i < space) {
+				char c = name.charAt(i);
+				if (c >= 'A' && c <= 'Z') {
+					code = c - 'A' + 1;
+				} else if (c >= 'a' && c <= 'z') {
+					code = c - 'a' + 27;
+				} else {
+					return NO_KEY;
+				}
+			}
+			letters = (letters << LETTER_BITS) | code;
+		}
+		int number = packDigits(name, space + 1);
+		int sectionNumber = packDigits(section, 0);
+		if (number < 0 || sectionNumber < 0) {
+			return NO_KEY;
+		}
+		return (((letters << NUMBER_BITS) | number) << NUMBER_BITS) | sectionNumber;
+	}
+
+	/**
+	 * Reads three ASCII digits starting at the given index as a number.
+	 * @param s the string to read
+	 * @param start the index of the first digit
+	 * @return the number, or -1 if any of the characters is not an ASCII digit
+	 */
+	private static int packDigits(String s, int start) {
+		int value = 0;
+		for (int i = start; i < start + DIGIT_COUNT; i++) {
+			char c = s.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value;
 	}
 
 	/**
@@ -297,6 +399,9 @@ public class Course extends Activity {
 		int result = super.hashCode();
 		result = prime * result + credits;
 		result = prime * result + ((instructorId == null) ? 0 : instructorId.hashCode());
+		if (key != NO_KEY) {
+			return prime * result + Long.hashCode(key);
+		}
 		result = prime * result + ((name == null) ? 0 : name.hashCode());
 		result = prime * result + ((section == null) ? 0 : section.hashCode());
 		return result;
@@ -323,6 +428,8 @@ public class Course extends Activity {
 				return false;
 		} else if (!instructorId.equals(other.instructorId))
 			return false;
+		if (key != NO_KEY || other.key != NO_KEY)
+			return key == other.key;
 		if (name == null) {
 			if (other.name != null)
 				return false;
@@ -370,18 +477,16 @@ public class Course extends Activity {
 	}
 	
 	/**
-	 * Checks if the activity is a duplicate if they have the same name
-	 * @param activity the activity to compare 
-	 * @return true if it is a duplicate, false if it is not
+	 * Checks if the given course has the same name as this course,
+	 * comparing the packed name keys when both courses have one
+	 * @param other the course to compare
+	 * @return true if the names are the same, false if not
 	 */
-	@Override
-	public boolean isDuplicate(Activity activity) {
-		if (activity instanceof Course) {
-			Course c = (Course) activity;
-			return this.getName().equals(c.getName());
+	boolean hasSameName(Course other) {
+		if (key != NO_KEY && other.key != NO_KEY) {
+			return getNameKey() == other.getNameKey();
 		}
-		return false;
-		
+		return name.equals(other.name);
 	}
 
 }
@@ -5,7 +5,7 @@ package edu.ncsu.csc216.wolf_scheduler.course;
  * start and end times, and details about the event.
  * @author Steven Saleeb
  */
-public class Event extends Activity {
+public final class Event extends Activity {
 	
 	/** the Details about the event */
 	private String eventDetails;
@@ -27,7 +27,7 @@ public class Event extends Activity {
 	 * @param eventDetails the details of the event
 	 */
 	public Event(String title, String meetingDays, int startTime, int endTime, String eventDetails) {
-        super(title, meetingDays, startTime, endTime);
+        super(Kind.EVENT, title, meetingDays, startTime, endTime);
         setEventDetails(eventDetails);
     }
 
@@ -146,19 +146,5 @@ public class Event extends Activity {
 				getStartTime() + "," + getEndTime() + "," + getEventDetails();
 	}
 	
-	/**
-     * Checks if another activity is a duplicate of this event, two events are duplicates if they have the same title
-     * @param activity the activity to compare
-     * @return true if the activity is a duplicate, false if not
-     */
-	@Override
-	public boolean isDuplicate(Activity activity) {
-		if (activity instanceof Event) {
-			Event c = (Event) activity;
-			return this.getTitle().equals(c.getTitle());
-		}
-		return false;
-	}
-
 
 }
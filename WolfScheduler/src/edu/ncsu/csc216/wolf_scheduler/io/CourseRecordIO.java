@@ -3,6 +3,7 @@ package edu.ncsu.csc216.wolf_scheduler.io;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Scanner;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
@@ -26,25 +27,20 @@ public class CourseRecordIO {
     public static ArrayList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
     	Scanner fileReader = new Scanner(new FileInputStream(fileName));  //Create a file scanner to read the file
         ArrayList<Course> courses = new ArrayList<Course>(); //Create an empty array of Course objects
+        HashSet<Long> keys = new HashSet<Long>(); //Packed keys of the courses read so far
+        HashSet<String> unpacked = new HashSet<String>(); //Name and section of the courses read so far without a packed key
         while (fileReader.hasNextLine()) { //While we have more lines in the file
             try { 
                 //Read the line, process it in readCourse, and get the object
                 //If trying to construct a Course in readCourse() results in an exception, flow of control will transfer to the catch block, below
                 Course course = readCourse(fileReader.nextLine()); 
 
-                //Create a flag to see if the newly created Course is a duplicate of something already in the list  
-                boolean duplicate = false;
-                //Look at all the courses in our list
-                for (int i = 0; i < courses.size(); i++) {
-                    //Get the course at index i
-                    Course current = courses.get(i);
-                    //Check if the name and section are the same
-                    if (course.getName().equals(current.getName()) &&
-                            course.getSection().equals(current.getSection())) {
-                        //It's a duplicate!
-                        duplicate = true;
-                        break; //We can break out of the loop, no need to continue searching
-                    }
+                //The course is a duplicate if its name and section were already read
+                boolean duplicate;
+                if (course.getKey() != Course.NO_KEY) {
+                    duplicate = !keys.add(course.getKey());
+                } else {
+                    duplicate = !unpacked.add(course.getName() + "," + course.getSection());
                 }
                 //If the course is NOT a duplicate
                 if (!duplicate) {
@@ -0,0 +1,165 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * Finds the times a group of students are all free. Each schedule has a bitmap of the
+ * five minute slots of the week its activities take up, so the busy time of a group is the
+ * OR of their bitmaps and the free windows are the runs of clear bits. Large groups OR their
+ * bitmaps in parallel.
+ * @author Steven Saleeb
+ */
+public final class FreeTime {
+
+	/** Minutes in a time slot */
+	static final int SLOT_MINUTES = 5;
+	/** Time slots in a day */
+	static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+	/** Days in a week, Monday to Sunday like a days mask */
+	static final int DAYS = 7;
+	/** Longs in a bitmap of the slots of a week */
+	static final int WORDS = (DAYS * SLOTS_PER_DAY + 63) / 64;
+	/** Number of schedules in a group before their bitmaps are combined in parallel */
+	static final int PARALLEL_THRESHOLD = 64;
+	/** Letters of the days in a days mask */
+	private static final String DAY_LETTERS = "MTWHFSU";
+
+	/**
+	 * FreeTime only has static methods
+	 */
+	private FreeTime() {
+	}
+
+	/**
+	 * Finds the windows of time when every schedule in the group is free. Only the time between
+	 * from and to on each day is searched, and only windows of at least minMinutes are returned.
+	 * Each window is an array of the day letter's index in "MTWHFSU", the start time and the end
+	 * time, with the times in military time like the times of an activity.
+	 * @param schedules the schedules of the group
+	 * @param from the earliest time of day to look at
+	 * @param to the latest time of day to look at
+	 * @param minMinutes the shortest window to return
+	 * @return the free windows, by day and then by start time
+	 * @throws IllegalArgumentException if the schedules are null, the times are not valid times
+	 * with from before to, or minMinutes is negative
+	 */
+	public static ArrayList<int[]> findCommonFreeTime(Collection<ScheduleSnapshot> schedules, int from, int to, int minMinutes) {
+		if (schedules == null) {
+			throw new IllegalArgumentException("Invalid schedules.");
+		}
+		if (!isValidTime(from) || !isValidTime(to) || to <= from || minMinutes < 0) {
+			throw new IllegalArgumentException("Invalid times.");
+		}
+		long[] busy;
+		if (schedules.size() >= PARALLEL_THRESHOLD) {
+			busy = schedules.parallelStream().map(ScheduleSnapshot::getBusySlots)
+					.collect(() -> new long[WORDS], FreeTime::or, FreeTime::or);
+		} else {
+			busy = new long[WORDS];
+			for (ScheduleSnapshot schedule : schedules) {
+				or(busy, schedule.getBusySlots());
+			}
+		}
+		return freeWindows(busy, toMinutes(from), toMinutes(to), minMinutes);
+	}
+
+	/**
+	 * Returns the day letter of a day index of a free window
+	 * @param day the day index, 0 for Monday
+	 * @return the day letter
+	 */
+	public static char getDayLetter(int day) {
+		return DAY_LETTERS.charAt(day);
+	}
+
+	/**
+	 * Marks the slots an activity takes up as busy. A slot is busy if any part of it is inside
+	 * the activity. Arranged activities take up no slots.
+	 * @param slots the bitmap to mark
+	 * @param activity the activity
+	 */
+	static void markBusy(long[] slots, Activity activity) {
+		int mask = activity.getMeetingDaysMask();
+		int first = toMinutes(activity.getStartTime()) / SLOT_MINUTES;
+		int end = (toMinutes(activity.getEndTime()) + SLOT_MINUTES - 1) / SLOT_MINUTES;
+		for (int day = 0; day < DAYS; day++) {
+			if ((mask & 1 << day) != 0) {
+				for (int slot = day * SLOTS_PER_DAY + first; slot < day * SLOTS_PER_DAY + end; slot++) {
+					slots[slot >>> 6] |= 1L << slot;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the busy slots of one bitmap to another
+	 * @param into the bitmap to add to
+	 * @param slots the bitmap to add
+	 */
+	private static void or(long[] into, long[] slots) {
+		for (int i = 0; i < WORDS; i++) {
+			into[i] |= slots[i];
+		}
+	}
+
+	/**
+	 * Finds the runs of free slots between the given minutes of each day
+	 * @param busy the busy slots of the week
+	 * @param from the earliest minute of the day to look at
+	 * @param to the latest minute of the day to look at
+	 * @param minMinutes the shortest window to return
+	 * @return the free windows
+	 */
+	private static ArrayList<int[]> freeWindows(long[] busy, int from, int to, int minMinutes) {
+		ArrayList<int[]> windows = new ArrayList<int[]>();
+		int firstSlot = (from + SLOT_MINUTES - 1) / SLOT_MINUTES;
+		int endSlot = to / SLOT_MINUTES;
+		for (int day = 0; day < DAYS; day++) {
+			int start = -1;
+			for (int slot = firstSlot; slot <= endSlot; slot++) {
+				int bit = day * SLOTS_PER_DAY + slot;
+				boolean free = slot < endSlot && (busy[bit >>> 6] & 1L << bit) == 0;
+				if (free && start < 0) {
+					start = slot;
+				} else if (!free && start >= 0) {
+					if ((slot - start) * SLOT_MINUTES >= minMinutes) {
+						windows.add(new int[] {day, toTime(start * SLOT_MINUTES), toTime(slot * SLOT_MINUTES)});
+					}
+					start = -1;
+				}
+			}
+		}
+		return windows;
+	}
+
+	/**
+	 * Checks if a time is a valid time of day in military time
+	 * @param time the time to check
+	 * @return true if the hour and minute are in range
+	 */
+	private static boolean isValidTime(int time) {
+		return time >= 0 && time / 100 < 24 && time % 100 < 60;
+	}
+
+	/**
+	 * Converts a military time to minutes after midnight
+	 * @param time the time, like 1330
+	 * @return the minutes after midnight
+	 */
+	private static int toMinutes(int time) {
+		return time / 100 * 60 + time % 100;
+	}
+
+	/**
+	 * Converts minutes after midnight to military time
+	 * @param minutes the minutes after midnight
+	 * @return the time, like 1330
+	 */
+	private static int toTime(int minutes) {
+		return minutes / 60 * 100 + minutes % 60;
+	}
+
+}
@@ -0,0 +1,191 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Arrays;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+
+/**
+ * Scores a schedule of catalog sections for the schedule optimizer, lower costs are better.
+ * A cost also gives a lower bound on the cost of every schedule that can be made by adding
+ * sections to a partial schedule, which lets the optimizer skip partial schedules that can not
+ * beat the ones it already has. A lower bound of zero is always correct but prunes nothing.
+ * Costs are combined with plus() and times(), like
+ * {@code ScheduleCost.idleMinutes().plus(ScheduleCost.fridays().times(60))}.
+ * @author Steven Saleeb
+ */
+public interface ScheduleCost {
+
+	/** Days mask of Friday */
+	int FRIDAY = 1 << 4;
+
+	/**
+	 * Returns the cost of a full schedule
+	 * @param catalog the catalog the sections are in
+	 * @param sections the catalog indexes of the sections of the schedule
+	 * @return the cost
+	 */
+	int cost(CourseCatalog catalog, int[] sections);
+
+	/**
+	 * Returns a cost no more than the cost of any schedule that has the given sections
+	 * @param catalog the catalog the sections are in
+	 * @param sections the catalog indexes of the sections chosen so far, in the first count places
+	 * @param count the number of sections chosen so far
+	 * @return the lower bound
+	 */
+	default int lowerBound(CourseCatalog catalog, int[] sections, int count) {
+		return 0;
+	}
+
+	/**
+	 * Returns the cost that adds this cost and another one
+	 * @param other the cost to add
+	 * @return the sum of the costs
+	 */
+	default ScheduleCost plus(ScheduleCost other) {
+		ScheduleCost self = this;
+		return new ScheduleCost() {
+			@Override
+			public int cost(CourseCatalog catalog, int[] sections) {
+				return self.cost(catalog, sections) + other.cost(catalog, sections);
+			}
+
+			@Override
+			public int lowerBound(CourseCatalog catalog, int[] sections, int count) {
+				return self.lowerBound(catalog, sections, count) + other.lowerBound(catalog, sections, count);
+			}
+		};
+	}
+
+	/**
+	 * Returns this cost multiplied by a weight
+	 * @param weight the weight, not negative
+	 * @return the weighted cost
+	 * @throws IllegalArgumentException if the weight is negative
+	 */
+	default ScheduleCost times(int weight) {
+		if (weight < 0) {
+			throw new IllegalArgumentException("Invalid weight.");
+		}
+		ScheduleCost self = this;
+		return new ScheduleCost() {
+			@Override
+			public int cost(CourseCatalog catalog, int[] sections) {
+				return weight * self.cost(catalog, sections);
+			}
+
+			@Override
+			public int lowerBound(CourseCatalog catalog, int[] sections, int count) {
+				return weight * self.lowerBound(catalog, sections, count);
+			}
+		};
+	}
+
+	/**
+	 * Returns the cost that counts the minutes between classes on the same day. Adding a section
+	 * can fill a gap, so the lower bound is zero.
+	 * @return the idle minutes cost
+	 */
+	static ScheduleCost idleMinutes() {
+		return (catalog, sections) -> {
+			int idle = 0;
+			for (int day = 0; day < 7; day++) {
+				int[][] meetings = new int[sections.length][];
+				int size = 0;
+				for (int idx : sections) {
+					if ((catalog.getDaysMask(idx) & 1 << day) != 0) {
+						meetings[size++] = new int[] {minutes(catalog.getStartTime(idx)), minutes(catalog.getEndTime(idx))};
+					}
+				}
+				Arrays.sort(meetings, 0, size, (a, b) -> Integer.compare(a[0], b[0]));
+				int end = size > 0 ? meetings[0][1] : 0;
+				for (int i = 1; i < size; i++) {
+					idle += Math.max(0, meetings[i][0] - end);
+					end = Math.max(end, meetings[i][1]);
+				}
+			}
+			return idle;
+		};
+	}
+
+	/**
+	 * Returns the cost that counts the sections starting before the given time
+	 * @param before the earliest start time that is not early, like 900
+	 * @return the early start cost
+	 */
+	static ScheduleCost earlyStarts(int before) {
+		return new ScheduleCost() {
+			@Override
+			public int cost(CourseCatalog catalog, int[] sections) {
+				return lowerBound(catalog, sections, sections.length);
+			}
+
+			@Override
+			public int lowerBound(CourseCatalog catalog, int[] sections, int count) {
+				int early = 0;
+				for (int i = 0; i < count; i++) {
+					if (catalog.getDaysMask(sections[i]) != 0 && catalog.getStartTime(sections[i]) < before) {
+						early++;
+					}
+				}
+				return early;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cost that counts the sections meeting on Friday, for schedules with Fridays off
+	 * @return the Friday cost
+	 */
+	static ScheduleCost fridays() {
+		return new ScheduleCost() {
+			@Override
+			public int cost(CourseCatalog catalog, int[] sections) {
+				return lowerBound(catalog, sections, sections.length);
+			}
+
+			@Override
+			public int lowerBound(CourseCatalog catalog, int[] sections, int count) {
+				int fridays = 0;
+				for (int i = 0; i < count; i++) {
+					if ((catalog.getDaysMask(sections[i]) & FRIDAY) != 0) {
+						fridays++;
+					}
+				}
+				return fridays;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cost that counts the days with at least one class, for compact weeks
+	 * @return the days on campus cost
+	 */
+	static ScheduleCost daysOnCampus() {
+		return new ScheduleCost() {
+			@Override
+			public int cost(CourseCatalog catalog, int[] sections) {
+				return lowerBound(catalog, sections, sections.length);
+			}
+
+			@Override
+			public int lowerBound(CourseCatalog catalog, int[] sections, int count) {
+				int days = 0;
+				for (int i = 0; i < count; i++) {
+					days |= catalog.getDaysMask(sections[i]);
+				}
+				return Integer.bitCount(days);
+			}
+		};
+	}
+
+	/**
+	 * Converts a military time to minutes after midnight
+	 * @param time the time, like 1330
+	 * @return the minutes after midnight
+	 */
+	private static int minutes(int time) {
+		return time / 100 * 60 + time % 100;
+	}
+
+}
@@ -0,0 +1,594 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+
+/**
+ * Finds every combination of one section of each requested course where no two sections overlap.
+ * The sections of all the requested courses are numbered as candidates and the candidates that
+ * overlap each other are kept as bit sets, so the sections ruled out by the choices so far are
+ * one bit set. The search backtracks over the courses and always picks next the course with the
+ * fewest sections left, and stops a branch as soon as some course has no sections left.
+ * The search can also run in a fork join pool, where the branches of the search tree are tasks
+ * that idle threads steal, and stop early once a limit of schedules is found. The optimizer
+ * runs the same search keeping only the lowest cost schedules, with branch and bound pruning.
+ * @author Steven Saleeb
+ */
+class ScheduleGenerator {
+
+	/** The catalog the sections are in */
+	private final CourseCatalog catalog;
+	/** Number of requested courses */
+	private final int courseCount;
+	/** First candidate of each course, with the number of candidates at the end */
+	private final int[] firsts;
+	/** Catalog index of each candidate */
+	private final int[] sections;
+	/** Bit set of the candidates each candidate overlaps */
+	private final long[][] conflicts;
+	/** Number of longs in a bit set of candidates */
+	private final int words;
+
+	/** Queued tasks a thread can have before a parallel search stops splitting */
+	private static final int SURPLUS_TASKS = 2;
+
+	/**
+	 * Finds the sections of the requested courses and the sections that overlap each other
+	 * @param catalog the catalog to take the sections from
+	 * @param courseNames the names of the courses to schedule
+	 * @throws IllegalArgumentException if a course name is null, repeated, or has no sections
+	 */
+	ScheduleGenerator(CourseCatalog catalog, ArrayList<String> courseNames) {
+		if (courseNames == null) {
+			throw new IllegalArgumentException("Invalid course name.");
+		}
+		this.catalog = catalog;
+		courseCount = courseNames.size();
+		firsts = new int[courseCount + 1];
+		ArrayList<Integer> found = new ArrayList<Integer>();
+		HashSet<String> seen = new HashSet<String>();
+		for (int k = 0; k < courseCount; k++) {
+			String name = courseNames.get(k);
+			if (name == null || !seen.add(name)) {
+				throw new IllegalArgumentException("Invalid course name.");
+			}
+			firsts[k] = found.size();
+			for (int idx : catalog.searchByNamePrefix(name)) {
+				if (catalog.getName(idx).equals(name)) {
+					found.add(idx);
+				}
+			}
+			if (found.size() == firsts[k]) {
+				throw new IllegalArgumentException("Invalid course name.");
+			}
+		}
+		firsts[courseCount] = found.size();
+		sections = new int[found.size()];
+		for (int i = 0; i < sections.length; i++) {
+			sections[i] = found.get(i);
+		}
+		words = (sections.length + 63) / 64;
+		conflicts = new long[sections.length][words];
+		for (int i = 0; i < sections.length; i++) {
+			for (int j = i + 1; j < sections.length; j++) {
+				if (catalog.overlaps(sections[i], sections[j])) {
+					conflicts[i][j >>> 6] |= 1L << j;
+					conflicts[j][i >>> 6] |= 1L << i;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds every schedule with one section of each requested course and no overlaps
+	 * @return the catalog indexes of the sections of each schedule, in the order the courses were requested
+	 */
+	ArrayList<int[]> generate() {
+		return generate(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Finds the first schedules with one section of each requested course and no overlaps,
+	 * on the calling thread
+	 * @param limit the most schedules to find
+	 * @return the catalog indexes of the sections of each schedule, in the order the courses were requested
+	 */
+	ArrayList<int[]> generate(int limit) {
+		Results results = new Results(new AtomicInteger(), limit);
+		search(0, new long[courseCount + 1][words], newChosen(), results);
+		return results.schedules;
+	}
+
+	/**
+	 * Finds schedules with one section of each requested course and no overlaps, splitting the
+	 * search across the threads of the pool. Without a limit the schedules are the same and in
+	 * the same order as the ones found on one thread. With a limit the search stops once that many
+	 * are found, and which ones are found depends on how the threads ran.
+	 * @param pool the pool to run the search in
+	 * @param limit the most schedules to find
+	 * @return the catalog indexes of the sections of each schedule, in the order the courses were requested
+	 */
+	ArrayList<int[]> generate(ForkJoinPool pool, int limit) {
+		return pool.invoke(new SearchTask(0, new long[words], newChosen(), new Results(new AtomicInteger(), limit)));
+	}
+
+	/**
+	 * Returns an iterator that finds the schedules one at a time as they are asked for, in the
+	 * same order as generate(). Only the current path of the search is kept, so the first
+	 * schedule is ready as soon as the search reaches it and schedules that are never asked for
+	 * are never found.
+	 * @return the iterator over the catalog indexes of the sections of each schedule, in the order
+	 * the courses were requested
+	 */
+	Iterator<int[]> iterator() {
+		return new ScheduleIterator();
+	}
+
+	/**
+	 * Finds the schedules with the lowest cost. The best schedules found so far are kept in a
+	 * heap with the worst of them on top. A partial schedule is dropped once its lower bound is
+	 * no better than the worst kept schedule, and the sections of each course are tried in order
+	 * of their lower bound so good schedules are found early.
+	 * @param cost the cost of a schedule
+	 * @param k the number of schedules to find
+	 * @return the catalog indexes of the sections of each schedule, lowest cost first, in the
+	 * order the courses were requested. Schedules with the same cost are in the order a search finds them.
+	 */
+	ArrayList<int[]> optimize(ScheduleCost cost, int k) {
+		Best best = new Best(k);
+		if (k > 0) {
+			optimize(0, new long[courseCount + 1][words], newChosen(), new int[courseCount], cost, best);
+		}
+		Scored[] sorted = best.heap.toArray(new Scored[0]);
+		Arrays.sort(sorted, Comparator.comparingInt((Scored s) -> s.cost).thenComparingLong(s -> s.order));
+		ArrayList<int[]> schedules = new ArrayList<int[]>(sorted.length);
+		for (Scored scored : sorted) {
+			schedules.add(scored.sections);
+		}
+		return schedules;
+	}
+
+	/**
+	 * Chooses a section for the most constrained course left and searches the rest of the courses
+	 * for schedules that can beat the worst of the best schedules found so far
+	 * @param depth the number of courses with a chosen section
+	 * @param ruledOut the candidates ruled out at each depth, the current depth is filled in
+	 * @param chosen the candidate chosen for each course, or -1 if there is none yet
+	 * @param partial the catalog indexes of the chosen sections in the order they were chosen
+	 * @param cost the cost of a schedule
+	 * @param best the best schedules found so far
+	 */
+	private void optimize(int depth, long[][] ruledOut, int[] chosen, int[] partial, ScheduleCost cost, Best best) {
+		if (depth == courseCount) {
+			int score = cost.cost(catalog, partial.clone());
+			if (score < best.worst()) {
+				int[] schedule = new int[courseCount];
+				for (int c = 0; c < courseCount; c++) {
+					schedule[c] = sections[chosen[c]];
+				}
+				best.add(schedule, score);
+			}
+			return;
+		}
+		long[] current = ruledOut[depth];
+		int course = nextCourse(chosen, current);
+		if (course < 0) {
+			return;
+		}
+		//Order the sections left by their lower bound
+		int[] candidates = new int[firsts[course + 1] - firsts[course]];
+		long[] bounds = new long[candidates.length];
+		int size = 0;
+		for (int c = firsts[course]; c < firsts[course + 1]; c++) {
+			if ((current[c >>> 6] & 1L << c) == 0) {
+				partial[depth] = sections[c];
+				bounds[size] = (long) cost.lowerBound(catalog, partial, depth + 1) << 32 | size;
+				candidates[size++] = c;
+			}
+		}
+		Arrays.sort(bounds, 0, size);
+		long[] next = ruledOut[depth + 1];
+		for (int i = 0; i < size; i++) {
+			if ((int) (bounds[i] >> 32) >= best.worst()) {
+				break;
+			}
+			int c = candidates[(int) bounds[i]];
+			rule(current, c, next);
+			chosen[course] = c;
+			partial[depth] = sections[c];
+			optimize(depth + 1, ruledOut, chosen, partial, cost, best);
+		}
+		chosen[course] = -1;
+	}
+
+	/**
+	 * Makes the chosen candidates of a search with no courses chosen yet
+	 * @return the chosen candidate of each course, all -1
+	 */
+	private int[] newChosen() {
+		int[] chosen = new int[courseCount];
+		Arrays.fill(chosen, -1);
+		return chosen;
+	}
+
+	/**
+	 * Chooses a section for the most constrained course left and searches the rest of the courses
+	 * @param depth the number of courses with a chosen section
+	 * @param ruledOut the candidates ruled out at each depth, the current depth is filled in
+	 * @param chosen the candidate chosen for each course, or -1 if there is none yet
+	 * @param results the schedules found so far
+	 * @return false if the limit was reached and the search should stop
+	 */
+	private boolean search(int depth, long[][] ruledOut, int[] chosen, Results results) {
+		if (depth == courseCount) {
+			return results.add(chosen);
+		}
+		long[] current = ruledOut[depth];
+		int course = nextCourse(chosen, current);
+		if (course < 0) {
+			return !results.isFull();
+		}
+		long[] next = ruledOut[depth + 1];
+		for (int c = firsts[course]; c < firsts[course + 1]; c++) {
+			if ((current[c >>> 6] & 1L << c) == 0) {
+				rule(current, c, next);
+				chosen[course] = c;
+				if (!search(depth + 1, ruledOut, chosen, results)) {
+					chosen[course] = -1;
+					return false;
+				}
+			}
+		}
+		chosen[course] = -1;
+		return true;
+	}
+
+	/**
+	 * Finds the course with no chosen section that has the fewest candidates left
+	 * @param chosen the candidate chosen for each course, or -1 if there is none yet
+	 * @param ruledOut the candidates that are ruled out
+	 * @return the course, or -1 if some course has no candidates left
+	 */
+	private int nextCourse(int[] chosen, long[] ruledOut) {
+		int course = -1;
+		int fewest = Integer.MAX_VALUE;
+		for (int k = 0; k < courseCount; k++) {
+			if (chosen[k] < 0) {
+				int left = countLeft(k, ruledOut);
+				if (left == 0) {
+					return -1;
+				}
+				if (left < fewest) {
+					fewest = left;
+					course = k;
+				}
+			}
+		}
+		return course;
+	}
+
+	/**
+	 * Rules out the candidates that overlap a chosen candidate
+	 * @param ruledOut the candidates ruled out before the choice
+	 * @param candidate the chosen candidate
+	 * @param next the bit set to fill with the candidates ruled out after the choice
+	 */
+	private void rule(long[] ruledOut, int candidate, long[] next) {
+		for (int w = 0; w < words; w++) {
+			next[w] = ruledOut[w] | conflicts[candidate][w];
+		}
+	}
+
+	/**
+	 * Counts the candidates of a course that are not ruled out
+	 * @param course the course
+	 * @param ruledOut the candidates that are ruled out
+	 * @return the number of candidates left
+	 */
+	private int countLeft(int course, long[] ruledOut) {
+		int left = 0;
+		for (int c = firsts[course]; c < firsts[course + 1]; c++) {
+			if ((ruledOut[c >>> 6] & 1L << c) == 0) {
+				left++;
+			}
+		}
+		return left;
+	}
+
+	/**
+	 * Schedules found by one part of a search. The parts of a parallel search share the count
+	 * of schedules found, so every part stops once the limit is reached.
+	 */
+	private final class Results {
+
+		/** Schedules found by this part of the search */
+		private final ArrayList<int[]> schedules = new ArrayList<int[]>();
+		/** Number of schedules found by all the parts of the search */
+		private final AtomicInteger count;
+		/** Most schedules to find */
+		private final int limit;
+
+		/**
+		 * Makes an empty list of schedules
+		 * @param count the count of schedules found shared by all the parts of the search
+		 * @param limit the most schedules to find
+		 */
+		Results(AtomicInteger count, int limit) {
+			this.count = count;
+			this.limit = limit;
+		}
+
+		/**
+		 * Adds the schedule of the chosen candidates if the limit has not been reached
+		 * @param chosen the candidate chosen for each course
+		 * @return false if the limit is reached and the search should stop
+		 */
+		boolean add(int[] chosen) {
+			if (count.getAndIncrement() >= limit) {
+				return false;
+			}
+			int[] schedule = new int[courseCount];
+			for (int k = 0; k < courseCount; k++) {
+				schedule[k] = sections[chosen[k]];
+			}
+			schedules.add(schedule);
+			return true;
+		}
+
+		/**
+		 * Checks if the limit has been reached by any part of the search
+		 * @return true if the search should stop
+		 */
+		boolean isFull() {
+			return count.get() >= limit;
+		}
+
+	}
+
+	/**
+	 * Part of a parallel search, the schedules that start with the choices made so far.
+	 * A part splits into one task per candidate of the next course while the pool is short
+	 * of queued work, and searches the rest on its own thread once other threads have enough
+	 * tasks to take.
+	 */
+	private final class SearchTask extends RecursiveTask<ArrayList<int[]>> {
+
+		/** Serial version of the task */
+		private static final long serialVersionUID = 1L;
+
+		/** Number of courses with a chosen section */
+		private final int depth;
+		/** Candidates ruled out by the choices so far */
+		private final long[] ruledOut;
+		/** Candidate chosen for each course, or -1 if there is none yet */
+		private final int[] chosen;
+		/** Schedules found by this task, sharing the count of the whole search */
+		private final Results results;
+
+		/**
+		 * Makes the task for the schedules that start with the given choices
+		 * @param depth the number of courses with a chosen section
+		 * @param ruledOut the candidates ruled out by the choices
+		 * @param chosen the candidate chosen for each course
+		 * @param results the schedules found by this task
+		 */
+		SearchTask(int depth, long[] ruledOut, int[] chosen, Results results) {
+			this.depth = depth;
+			this.ruledOut = ruledOut;
+			this.chosen = chosen;
+			this.results = results;
+		}
+
+		/**
+		 * Searches the schedules that start with the choices of this task
+		 * @return the schedules found, in the same order a search on one thread finds them
+		 */
+		@Override
+		protected ArrayList<int[]> compute() {
+			if (results.isFull()) {
+				return results.schedules;
+			}
+			if (courseCount - depth <= 1 || getSurplusQueuedTaskCount() > SURPLUS_TASKS) {
+				long[][] levels = new long[courseCount + 1][];
+				levels[depth] = ruledOut;
+				for (int d = depth + 1; d <= courseCount; d++) {
+					levels[d] = new long[words];
+				}
+				search(depth, levels, chosen, results);
+				return results.schedules;
+			}
+			int course = nextCourse(chosen, ruledOut);
+			if (course < 0) {
+				return results.schedules;
+			}
+			ArrayList<SearchTask> tasks = new ArrayList<SearchTask>();
+			for (int c = firsts[course]; c < firsts[course + 1]; c++) {
+				if ((ruledOut[c >>> 6] & 1L << c) == 0) {
+					long[] next = new long[words];
+					rule(ruledOut, c, next);
+					int[] nextChosen = chosen.clone();
+					nextChosen[course] = c;
+					tasks.add(new SearchTask(depth + 1, next, nextChosen, new Results(results.count, results.limit)));
+				}
+			}
+			invokeAll(tasks);
+			for (SearchTask task : tasks) {
+				results.schedules.addAll(task.join());
+			}
+			return results.schedules;
+		}
+
+	}
+
+	/**
+	 * The best schedules the optimizer has found so far, in a heap with the worst on top
+	 */
+	private static final class Best {
+
+		/** The kept schedules, worst on top */
+		private final PriorityQueue<Scored> heap;
+		/** Number of schedules to keep */
+		private final int k;
+		/** Number of schedules kept so far, used to break ties in cost */
+		private long found;
+
+		/**
+		 * Makes an empty heap of schedules
+		 * @param k the number of schedules to keep
+		 */
+		Best(int k) {
+			this.k = k;
+			heap = new PriorityQueue<Scored>(Math.max(1, Math.min(k, 1024)),
+					Comparator.comparingInt((Scored s) -> s.cost).thenComparingLong(s -> s.order).reversed());
+		}
+
+		/**
+		 * Returns the cost a schedule has to be under to be kept
+		 * @return the cost of the worst kept schedule, or the largest int if fewer than k are kept
+		 */
+		int worst() {
+			return heap.size() < k ? Integer.MAX_VALUE : heap.peek().cost;
+		}
+
+		/**
+		 * Keeps a schedule, dropping the worst one if there are more than k
+		 * @param schedule the catalog indexes of the sections of the schedule
+		 * @param cost the cost of the schedule
+		 */
+		void add(int[] schedule, int cost) {
+			heap.add(new Scored(schedule, cost, found++));
+			if (heap.size() > k) {
+				heap.poll();
+			}
+		}
+
+	}
+
+	/**
+	 * A schedule kept by the optimizer with its cost
+	 */
+	private static final class Scored {
+
+		/** Catalog indexes of the sections in the order the courses were requested */
+		private final int[] sections;
+		/** Cost of the schedule */
+		private final int cost;
+		/** Order the schedule was found in */
+		private final long order;
+
+		/**
+		 * Makes a scored schedule
+		 * @param sections the catalog indexes of the sections
+		 * @param cost the cost of the schedule
+		 * @param order the order the schedule was found in
+		 */
+		Scored(int[] sections, int cost, long order) {
+			this.sections = sections;
+			this.cost = cost;
+			this.order = order;
+		}
+
+	}
+
+	/**
+	 * The backtracking search with its recursion kept in arrays, so it can stop after each
+	 * schedule and carry on from the same place when the next one is asked for.
+	 */
+	private final class ScheduleIterator implements Iterator<int[]> {
+
+		/** Candidates ruled out at each depth */
+		private final long[][] ruledOut = new long[courseCount + 1][words];
+		/** Candidate chosen for each course, or -1 if there is none yet */
+		private final int[] chosen = newChosen();
+		/** Course picked at each depth, or -1 if the depth has not been reached */
+		private final int[] courseAt = newChosen();
+		/** Next candidate to try at each depth */
+		private final int[] position = new int[courseCount];
+		/** Depth of the search, -1 once it is done */
+		private int depth;
+		/** The next schedule, or null if it has not been found yet */
+		private int[] next;
+
+		/**
+		 * Checks if there is another schedule, finding it if needed
+		 * @return true if there is another schedule
+		 */
+		@Override
+		public boolean hasNext() {
+			if (next == null) {
+				next = findNext();
+			}
+			return next != null;
+		}
+
+		/**
+		 * Returns the next schedule
+		 * @return the catalog indexes of the sections of the schedule
+		 * @throws NoSuchElementException if there are no more schedules
+		 */
+		@Override
+		public int[] next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			int[] schedule = next;
+			next = null;
+			return schedule;
+		}
+
+		/**
+		 * Carries on the search until the next schedule
+		 * @return the next schedule, or null if there are no more
+		 */
+		private int[] findNext() {
+			while (depth >= 0) {
+				if (depth == courseCount) {
+					int[] schedule = new int[courseCount];
+					for (int k = 0; k < courseCount; k++) {
+						schedule[k] = sections[chosen[k]];
+					}
+					depth--;
+					return schedule;
+				}
+				long[] current = ruledOut[depth];
+				if (courseAt[depth] < 0) {
+					int course = nextCourse(chosen, current);
+					if (course < 0) {
+						depth--;
+						continue;
+					}
+					courseAt[depth] = course;
+					position[depth] = firsts[course];
+				}
+				int course = courseAt[depth];
+				int c = position[depth];
+				while (c < firsts[course + 1] && (current[c >>> 6] & 1L << c) != 0) {
+					c++;
+				}
+				if (c == firsts[course + 1]) {
+					chosen[course] = -1;
+					courseAt[depth] = -1;
+					depth--;
+					continue;
+				}
+				position[depth] = c + 1;
+				chosen[course] = c;
+				rule(current, c, ruledOut[depth + 1]);
+				depth++;
+			}
+			return null;
+		}
+
+	}
+
+}
@@ -0,0 +1,464 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * One version of a student schedule, with the title and the activities in the order they were added.
+ * A snapshot never changes, a change to the schedule makes a new snapshot with the next version,
+ * so a reader can use a snapshot without any locking. The display arrays are made the first time
+ * they are asked for and kept, each caller gets its own copy of the rows so the kept arrays
+ * can not be changed. The activities handed out are
+ * copies, so changing them does not change the snapshot, its totals, or its cached arrays.
+ * The activities are kept as a persistent list linked from the last activity back to the first,
+ * so a new snapshot shares every activity node it does not change with the snapshot it was made
+ * from. Adding an activity makes one node and removing one copies only the nodes added after it,
+ * which keeps a long undo history of snapshots small.
+ * Each node also keeps the credits, class minutes and days of the courses up to it, so the
+ * totals of a snapshot are read from its last node without looking at the activities. The
+ * totals are taken when a course is added and up to 511 courses can meet on the same day.
+ * @author Steven Saleeb
+ */
+public final class ScheduleSnapshot {
+
+	/** Version of the schedule */
+	private final long version;
+	/** Title of the schedule */
+	private final String title;
+	/** Node of the last activity of the schedule, or null if it is empty */
+	private final Node last;
+	/** Number of days in a days mask */
+	private static final int DAYS = 7;
+	/** Bits used to count the courses on each day */
+	private static final int DAY_BITS = 9;
+	/** Mask of the count of one day */
+	private static final long DAY_COUNT_MASK = (1L << DAY_BITS) - 1;
+	/** Short display arrays of the activities, made when first asked for */
+	private volatile String[][] shortDisplay;
+	/** Long display arrays of the activities, made when first asked for */
+	private volatile String[][] longDisplay;
+	/** Bitmap of the time slots of the week taken up by the activities, made when first asked for */
+	private volatile long[] busySlots;
+
+	/**
+	 * Creates a snapshot
+	 * @param version the version of the schedule
+	 * @param title the title of the schedule
+	 * @param activities the activities, which must not be changed after this call
+	 */
+	ScheduleSnapshot(long version, String title, Activity[] activities) {
+		this(version, title, append(null, activities));
+	}
+
+	/**
+	 * Creates a snapshot over a list of activity nodes
+	 * @param version the version of the schedule
+	 * @param title the title of the schedule
+	 * @param last the node of the last activity, or null if there are none
+	 */
+	private ScheduleSnapshot(long version, String title, Node last) {
+		this.version = version;
+		this.title = title;
+		this.last = last;
+	}
+
+	/**
+	 * Returns the version of the schedule, which goes up by one with each change
+	 * @return the version
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Returns the title of the schedule
+	 * @return the title
+	 */
+	public String getTitle() {
+		return title;
+	}
+
+	/**
+	 * Returns the number of activities in the schedule
+	 * @return the number of activities
+	 */
+	public int size() {
+		return last == null ? 0 : last.size;
+	}
+
+	/**
+	 * Returns the total credits of the courses in the schedule
+	 * @return the credit hours
+	 */
+	public int getCredits() {
+		return last == null ? 0 : last.credits;
+	}
+
+	/**
+	 * Returns the number of days of the week with at least one course meeting.
+	 * Arranged courses and events do not count.
+	 * @return the days on campus
+	 */
+	public int getDaysOnCampus() {
+		return last == null ? 0 : last.days;
+	}
+
+	/**
+	 * Returns the minutes of class in a week, the length of each course times the number of
+	 * days it meets. Arranged courses and events do not count.
+	 * @return the weekly contact minutes
+	 */
+	public int getWeeklyMinutes() {
+		return last == null ? 0 : last.minutes;
+	}
+
+	/**
+	 * Returns a copy of the activity at the given index. The list is walked back from the last
+	 * activity, so the newest activities are found first.
+	 * @param idx the index of the activity
+	 * @return a copy of the activity
+	 * @throws IndexOutOfBoundsException if the index is not in the schedule
+	 */
+	public Activity getActivity(int idx) {
+		return copy(node(idx).activity);
+	}
+
+	/**
+	 * Returns copies of the activities of the schedule in a new list
+	 * @return a list of copies of the activities
+	 */
+	public ArrayList<Activity> getActivities() {
+		Activity[] activities = toArray();
+		ArrayList<Activity> copies = new ArrayList<Activity>(activities.length);
+		for (Activity activity : activities) {
+			copies.add(copy(activity));
+		}
+		return copies;
+	}
+
+	/**
+	 * Makes a copy of an activity, so the activity kept by the snapshot can not be changed
+	 * @param activity the activity to copy
+	 * @return the copy
+	 */
+	private static Activity copy(Activity activity) {
+		switch (activity.getKind()) {
+		case COURSE:
+			Course course = (Course) activity;
+			return new Course(course.getName(), course.getTitle(), course.getSection(), course.getCredits(),
+					course.getInstructorId(), course.getMeetingDays(), course.getStartTime(), course.getEndTime());
+		default:
+			Event event = (Event) activity;
+			return new Event(event.getTitle(), event.getMeetingDays(), event.getStartTime(), event.getEndTime(),
+					event.getEventDetails());
+		}
+	}
+
+	/**
+	 * Returns the short display arrays of the activities. The rows are copied from the kept
+	 * arrays, so they are not made again and the caller can change them.
+	 * @return a 2D array with the short display array of each activity
+	 */
+	public String[][] getShortDisplayArray() {
+		return copyRows(shortDisplay());
+	}
+
+	/**
+	 * Returns a copy of the short display array of one activity
+	 * @param idx the index of the activity
+	 * @return the short display array of the activity
+	 * @throws IndexOutOfBoundsException if the index is not in the schedule
+	 */
+	String[] getShortDisplayRow(int idx) {
+		return shortDisplay()[idx].clone();
+	}
+
+	/**
+	 * Returns the kept short display arrays of the activities, making them the first time
+	 * @return the kept arrays, which must not be changed or handed out
+	 */
+	private String[][] shortDisplay() {
+		String[][] display = shortDisplay;
+		if (display == null) {
+			Activity[] activities = toArray();
+			display = new String[activities.length][];
+			for (int i = 0; i < activities.length; i++) {
+				display[i] = activities[i].getShortDisplayArray();
+			}
+			shortDisplay = display;
+		}
+		return display;
+	}
+
+	/**
+	 * Returns the long display arrays of the activities. The rows are copied from the kept
+	 * arrays, so they are not made again and the caller can change them.
+	 * @return a 2D array with the long display array of each activity
+	 */
+	public String[][] getLongDisplayArray() {
+		String[][] display = longDisplay;
+		if (display == null) {
+			Activity[] activities = toArray();
+			display = new String[activities.length][];
+			for (int i = 0; i < activities.length; i++) {
+				display[i] = activities[i].getLongDisplayArray();
+			}
+			longDisplay = display;
+		}
+		return copyRows(display);
+	}
+
+	/**
+	 * Copies the rows of a display array. The strings are not copied since they can not change.
+	 * @param display the display array
+	 * @return the copy
+	 */
+	private static String[][] copyRows(String[][] display) {
+		String[][] copy = new String[display.length][];
+		for (int i = 0; i < display.length; i++) {
+			copy[i] = display[i].clone();
+		}
+		return copy;
+	}
+
+	/**
+	 * Returns the bitmap of the five minute slots of the week the activities take up, Monday
+	 * first. The returned array is shared by every reader of this snapshot and must not be changed.
+	 * @return the busy slots
+	 */
+	public long[] getBusySlots() {
+		long[] slots = busySlots;
+		if (slots == null) {
+			slots = new long[FreeTime.WORDS];
+			for (Node node = last; node != null; node = node.previous) {
+				FreeTime.markBusy(slots, node.activity);
+			}
+			busySlots = slots;
+		}
+		return slots;
+	}
+
+	/**
+	 * Returns the next version of the schedule with the given activity added at the end.
+	 * If this snapshot has its busy slots, the new one gets them with the activity marked.
+	 * @param activity the activity to add
+	 * @return the new snapshot
+	 */
+	ScheduleSnapshot withActivity(Activity activity) {
+		ScheduleSnapshot next = new ScheduleSnapshot(version + 1, title, new Node(activity, last));
+		long[] slots = busySlots;
+		if (slots != null) {
+			slots = slots.clone();
+			FreeTime.markBusy(slots, activity);
+			next.busySlots = slots;
+		}
+		return next;
+	}
+
+	/**
+	 * Returns the next version of the schedule with the given activities added to the end, in
+	 * one version
+	 * @param added the activities to add
+	 * @return the new snapshot
+	 */
+	ScheduleSnapshot withActivities(Activity[] added) {
+		return new ScheduleSnapshot(version + 1, title, append(last, added));
+	}
+
+	/**
+	 * Returns the next version of the schedule without the activity at the given index. The
+	 * activities before it are shared and the ones after it are copied.
+	 * @param idx the index of the activity to remove
+	 * @return the new snapshot
+	 * @throws IndexOutOfBoundsException if the index is not in the schedule
+	 */
+	ScheduleSnapshot withoutActivity(int idx) {
+		Node removed = node(idx);
+		Activity[] after = new Activity[size() - idx - 1];
+		Node node = last;
+		for (int i = after.length - 1; i >= 0; i--) {
+			after[i] = node.activity;
+			node = node.previous;
+		}
+		return new ScheduleSnapshot(version + 1, title, append(removed.previous, after));
+	}
+
+	/**
+	 * Checks if the schedule has a section of the given course
+	 * @param name the course name
+	 * @return true if a course with the name is in the schedule
+	 */
+	boolean hasCourse(String name) {
+		for (Node node = last; node != null; node = node.previous) {
+			if (node.activity.getKind() == Activity.Kind.COURSE && ((Course) node.activity).getName().equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the next version of the schedule with no activities
+	 * @return the new snapshot
+	 */
+	ScheduleSnapshot withoutActivities() {
+		return new ScheduleSnapshot(version + 1, title, (Node) null);
+	}
+
+	/**
+	 * Returns the next version of the schedule with the given title, the activities
+	 * and their display arrays are shared with this snapshot
+	 * @param newTitle the new title
+	 * @return the new snapshot
+	 */
+	ScheduleSnapshot withTitle(String newTitle) {
+		ScheduleSnapshot next = new ScheduleSnapshot(version + 1, newTitle, last);
+		next.shortDisplay = shortDisplay;
+		next.longDisplay = longDisplay;
+		next.busySlots = busySlots;
+		return next;
+	}
+
+	/**
+	 * Returns this schedule again under a new version, used when undo or redo brings back an
+	 * earlier schedule. The activities and their display arrays are shared with this snapshot.
+	 * @param newVersion the version of the new snapshot
+	 * @return the new snapshot
+	 */
+	ScheduleSnapshot withVersion(long newVersion) {
+		ScheduleSnapshot next = new ScheduleSnapshot(newVersion, title, last);
+		next.shortDisplay = shortDisplay;
+		next.longDisplay = longDisplay;
+		next.busySlots = busySlots;
+		return next;
+	}
+
+	/**
+	 * Lets go of the display arrays and busy slots so a snapshot kept only for undo holds just
+	 * its own nodes. They are made again if the snapshot is read.
+	 */
+	void releaseCaches() {
+		shortDisplay = null;
+		longDisplay = null;
+		busySlots = null;
+	}
+
+	/**
+	 * Returns the node of the activity at the given index
+	 * @param idx the index of the activity
+	 * @return the node
+	 * @throws IndexOutOfBoundsException if the index is not in the schedule
+	 */
+	private Node node(int idx) {
+		int size = size();
+		if (idx < 0 || idx >= size) {
+			throw new IndexOutOfBoundsException("Index " + idx + " out of bounds for length " + size);
+		}
+		Node node = last;
+		for (int i = size - 1; i > idx; i--) {
+			node = node.previous;
+		}
+		return node;
+	}
+
+	/**
+	 * Returns the activities of the schedule in order in a new array
+	 * @return the activities
+	 */
+	private Activity[] toArray() {
+		Activity[] activities = new Activity[size()];
+		Node node = last;
+		for (int i = activities.length - 1; i >= 0; i--) {
+			activities[i] = node.activity;
+			node = node.previous;
+		}
+		return activities;
+	}
+
+	/**
+	 * Adds activities to the end of a list of nodes
+	 * @param last the last node of the list, or null if it is empty
+	 * @param activities the activities to add
+	 * @return the last node of the new list
+	 */
+	private static Node append(Node last, Activity[] activities) {
+		for (Activity activity : activities) {
+			last = new Node(activity, last);
+		}
+		return last;
+	}
+
+	/**
+	 * One activity of a schedule with a link to the activity added before it. Nodes never
+	 * change, so any number of snapshots can share them.
+	 */
+	private static final class Node {
+
+		/** The activity */
+		private final Activity activity;
+		/** Node of the activity before this one, or null if this is the first */
+		private final Node previous;
+		/** Number of activities up to and including this one */
+		private final int size;
+		/** Credits of the courses up to and including this one */
+		private final int credits;
+		/** Weekly class minutes of the courses up to and including this one */
+		private final int minutes;
+		/** Number of courses meeting on each day up to and including this one, DAY_BITS bits per day */
+		private final long dayCounts;
+		/** Number of days with at least one course up to and including this one */
+		private final int days;
+
+		/**
+		 * Makes a node after the given one and adds the activity to the totals of the ones before
+		 * @param activity the activity
+		 * @param previous the node of the activity before, or null if this is the first
+		 */
+		Node(Activity activity, Node previous) {
+			this.activity = activity;
+			this.previous = previous;
+			int prevCredits = 0;
+			int prevMinutes = 0;
+			long prevCounts = 0;
+			if (previous != null) {
+				prevCredits = previous.credits;
+				prevMinutes = previous.minutes;
+				prevCounts = previous.dayCounts;
+			}
+			size = previous == null ? 1 : previous.size + 1;
+			int mask = 0;
+			if (activity.getKind() == Activity.Kind.COURSE) {
+				prevCredits += ((Course) activity).getCredits();
+				mask = activity.getMeetingDaysMask();
+				prevMinutes += Integer.bitCount(mask) * (toMinutes(activity.getEndTime()) - toMinutes(activity.getStartTime()));
+			}
+			credits = prevCredits;
+			minutes = prevMinutes;
+			int daysOn = 0;
+			for (int day = 0; day < DAYS; day++) {
+				if ((mask & 1 << day) != 0) {
+					prevCounts += 1L << day * DAY_BITS;
+				}
+				if ((prevCounts >>> day * DAY_BITS & DAY_COUNT_MASK) != 0) {
+					daysOn++;
+				}
+			}
+			dayCounts = prevCounts;
+			days = daysOn;
+		}
+
+		/**
+		 * Converts a military time to minutes after midnight
+		 * @param time the time, like 1330
+		 * @return the minutes after midnight
+		 */
+		private static int toMinutes(int time) {
+			return time / 100 * 60 + time % 100;
+		}
+
+	}
+
+}
@@ -0,0 +1,333 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.catalog.ListCourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.catalog.SectionSeats;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * This class serves the schedules of many students from one course catalog.
+ * The catalog is loaded once and shared, and each student gets a session, which is a
+ * WolfScheduler over the shared catalog with its own schedule and title. Sessions only share
+ * the catalog, which never changes, so different students can use their sessions on different
+ * threads at the same time.
+ * When seats are limited, a student can wait for a full section on its waitlist. Waitlists are
+ * first in first out queues that never lock, and when a session gives back a seat the student
+ * at the front of the section's waitlist is given the seat right away. While anyone waits for a
+ * section, students can not enroll in it directly, so no one gets ahead of the waitlist.
+ * @author Steven Saleeb
+ */
+public class SchedulerService {
+
+	/** The catalog shared by all the sessions */
+	private final CourseCatalog catalog;
+
+	/** Seat counts of the catalog sections shared by all the sessions, or null if seats are not limited */
+	private final SectionSeats seats;
+
+	/** Waitlist of student ids of each section by catalog index, or null if seats are not limited */
+	private final ArrayList<ConcurrentLinkedQueue<String>> waitlists;
+
+	/** Student ids on the waitlist of each section, a student is in the queue only while in the set */
+	private final ArrayList<Set<String>> waiting;
+
+	/** Catalog indexes of the sections each student is waiting for by student id, or null if seats are not limited */
+	private final ConcurrentHashMap<String, Set<Integer>> waitlisted;
+
+	/** The session of each student by student id */
+	private final ConcurrentHashMap<String, WolfScheduler> sessions;
+
+	/**
+	 * Loads the course catalog from the file and starts with no sessions
+	 * @param filename the name of the file that will read the course catalog from
+	 * @throws IllegalArgumentException if the file can not be read
+	 */
+	public SchedulerService(String filename) {
+		try {
+			catalog = new ListCourseCatalog(CourseRecordIO.readCourseRecords(filename));
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		}
+		seats = null;
+		waitlists = null;
+		waiting = null;
+		waitlisted = null;
+		sessions = new ConcurrentHashMap<String, WolfScheduler>();
+	}
+
+	/**
+	 * Uses an already loaded course catalog and starts with no sessions
+	 * @param catalog the course catalog
+	 * @throws IllegalArgumentException if the catalog is null
+	 */
+	public SchedulerService(CourseCatalog catalog) {
+		this(catalog, null);
+	}
+
+	/**
+	 * Uses an already loaded course catalog with seat counts shared by every session,
+	 * and starts with no sessions
+	 * @param catalog the course catalog
+	 * @param seats the seat counts of the catalog sections, or null if seats are not limited
+	 * @throws IllegalArgumentException if the catalog is null or the seats are for a different number of sections
+	 */
+	public SchedulerService(CourseCatalog catalog, SectionSeats seats) {
+		if (catalog == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		if (seats != null && seats.size() != catalog.size()) {
+			throw new IllegalArgumentException("Invalid seats.");
+		}
+		this.catalog = catalog;
+		this.seats = seats;
+		if (seats == null) {
+			waitlists = null;
+			waiting = null;
+			waitlisted = null;
+		} else {
+			waitlists = new ArrayList<ConcurrentLinkedQueue<String>>(catalog.size());
+			waiting = new ArrayList<Set<String>>(catalog.size());
+			for (int i = 0; i < catalog.size(); i++) {
+				waitlists.add(new ConcurrentLinkedQueue<String>());
+				waiting.add(ConcurrentHashMap.newKeySet());
+			}
+			waitlisted = new ConcurrentHashMap<String, Set<Integer>>();
+		}
+		sessions = new ConcurrentHashMap<String, WolfScheduler>();
+	}
+
+	/**
+	 * Returns the catalog shared by all the sessions
+	 * @return the course catalog
+	 */
+	public CourseCatalog getCourseCatalog() {
+		return catalog;
+	}
+
+	/**
+	 * Returns the session of the given student, starting a new session with an empty
+	 * schedule if the student does not have one
+	 * @param studentId the id of the student
+	 * @return the session of the student
+	 * @throws IllegalArgumentException if the student id is null or empty
+	 */
+	public WolfScheduler getSession(String studentId) {
+		if (studentId == null || "".equals(studentId)) {
+			throw new IllegalArgumentException("Invalid student id.");
+		}
+		return sessions.computeIfAbsent(studentId, id -> new WolfScheduler(catalog, seats, waitlists == null ? null : this::promote));
+	}
+
+	/**
+	 * Returns the seat counts shared by all the sessions
+	 * @return the seat counts, or null if seats are not limited
+	 */
+	public SectionSeats getSeats() {
+		return seats;
+	}
+
+	/**
+	 * Puts a student at the back of the waitlist of a section. If a seat is open the student at
+	 * the front of the waitlist gets it right away, which may be this student.
+	 * @param studentId the id of the student
+	 * @param name the course name
+	 * @param section the section
+	 * @return true if the student joined the waitlist, false if the student was already on it
+	 * @throws IllegalStateException if seats are not limited
+	 * @throws IllegalArgumentException if the student has no session, the section doesn't exist,
+	 * or a section of the course is already in the student's schedule
+	 */
+	public boolean joinWaitlist(String studentId, String name, String section) {
+		if (waitlists == null) {
+			throw new IllegalStateException("Seats are not limited.");
+		}
+		WolfScheduler session = studentId == null ? null : sessions.get(studentId);
+		if (session == null) {
+			throw new IllegalArgumentException("Invalid student id.");
+		}
+		int idx = getSectionIndex(name, section);
+		if (session.getScheduleSnapshot().hasCourse(name)) {
+			throw new IllegalArgumentException("You are already enrolled in " + name);
+		}
+		//Counted first so the waiting count is never less than the students in the set
+		seats.addWaiting(idx);
+		if (!waiting.get(idx).add(studentId)) {
+			seats.removeWaiting(idx);
+			return false;
+		}
+		waitlisted.computeIfAbsent(studentId, id -> ConcurrentHashMap.newKeySet()).add(idx);
+		waitlists.get(idx).offer(studentId);
+		//Checked after the section is recorded, so a session closed meanwhile either clears it or is seen here
+		if (sessions.get(studentId) != session) {
+			leaveWaitlist(studentId, name, section);
+			throw new IllegalArgumentException("Invalid student id.");
+		}
+		promote(idx);
+		return true;
+	}
+
+	/**
+	 * Takes a student off the waitlist of a section
+	 * @param studentId the id of the student
+	 * @param name the course name
+	 * @param section the section
+	 * @return true if the student was on the waitlist, false if not
+	 * @throws IllegalStateException if seats are not limited
+	 * @throws IllegalArgumentException if the section doesn't exist
+	 */
+	public boolean leaveWaitlist(String studentId, String name, String section) {
+		if (waitlists == null) {
+			throw new IllegalStateException("Seats are not limited.");
+		}
+		int idx = getSectionIndex(name, section);
+		if (studentId == null || !waiting.get(idx).remove(studentId)) {
+			return false;
+		}
+		waitlists.get(idx).remove(studentId);
+		seats.removeWaiting(idx);
+		removeWaitlisted(studentId, idx);
+		return true;
+	}
+
+	/**
+	 * Drops a section from the sections a student is waiting for
+	 * @param studentId the id of the student
+	 * @param idx the catalog index of the section
+	 */
+	private void removeWaitlisted(String studentId, int idx) {
+		Set<Integer> sections = waitlisted.get(studentId);
+		if (sections != null) {
+			sections.remove(idx);
+		}
+	}
+
+	/**
+	 * Returns the students waiting for a section
+	 * @param name the course name
+	 * @param section the section
+	 * @return the student ids, front of the waitlist first
+	 * @throws IllegalStateException if seats are not limited
+	 * @throws IllegalArgumentException if the section doesn't exist
+	 */
+	public String[] getWaitlist(String name, String section) {
+		if (waitlists == null) {
+			throw new IllegalStateException("Seats are not limited.");
+		}
+		int idx = getSectionIndex(name, section);
+		ArrayList<String> students = new ArrayList<String>();
+		for (String studentId : waitlists.get(idx)) {
+			if (waiting.get(idx).contains(studentId)) {
+				students.add(studentId);
+			}
+		}
+		return students.toArray(new String[0]);
+	}
+
+	/**
+	 * Finds the catalog index of a section
+	 * @param name the course name
+	 * @param section the section
+	 * @return the catalog index
+	 * @throws IllegalArgumentException if the section doesn't exist
+	 */
+	private int getSectionIndex(String name, String section) {
+		int idx = catalog.indexOf(name, section);
+		if (idx < 0) {
+			throw new IllegalArgumentException("Course doesn't exist.");
+		}
+		return idx;
+	}
+
+	/**
+	 * Gives the open seats of a section to the students at the front of its waitlist. A seat is
+	 * taken before a student is taken off the waitlist, so a student only leaves the waitlist
+	 * with a seat, and students who left the waitlist, are gone, or are already in the course are
+	 * skipped. Other students can not take the seat meanwhile since the section has a waitlist.
+	 * The waitlist is checked again after a seat is given back, so a student who joins while the
+	 * seat is held is not missed.
+	 * @param idx the catalog index of the section
+	 */
+	private void promote(int idx) {
+		ConcurrentLinkedQueue<String> waitlist = waitlists.get(idx);
+		while (!waitlist.isEmpty() && seats.tryEnrollWaiting(idx)) {
+			String studentId = waitlist.poll();
+			if (studentId == null || !waiting.get(idx).remove(studentId)) {
+				seats.release(idx);
+				continue;
+			}
+			seats.removeWaiting(idx);
+			removeWaitlisted(studentId, idx);
+			WolfScheduler session = sessions.get(studentId);
+			//A closed session takes no courses, and closing gives back the seat of one added first
+			if (session == null || !session.addWaitlistedCourse(idx)) {
+				seats.release(idx);
+			}
+		}
+	}
+
+	/**
+	 * Ends the session of the given student, takes the student off the waitlists it joined, and
+	 * gives back the seats of its courses. The session is closed, so it can not be changed anymore
+	 * by anyone still holding it.
+	 * @param studentId the id of the student
+	 * @return true if the student had a session, false if not
+	 */
+	public boolean closeSession(String studentId) {
+		WolfScheduler session = studentId == null ? null : sessions.remove(studentId);
+		if (session == null) {
+			return false;
+		}
+		Set<Integer> sections = waitlisted == null ? null : waitlisted.remove(studentId);
+		if (sections != null) {
+			for (int idx : sections) {
+				if (waiting.get(idx).remove(studentId)) {
+					waitlists.get(idx).remove(studentId);
+					seats.removeWaiting(idx);
+				}
+			}
+		}
+		session.close();
+		return true;
+	}
+
+	/**
+	 * Returns the number of open sessions
+	 * @return the number of sessions
+	 */
+	public int getSessionCount() {
+		return sessions.size();
+	}
+
+	/**
+	 * Finds the windows of time when all the given students are free, from the current
+	 * schedules of their sessions. See FreeTime.findCommonFreeTime() for the windows returned.
+	 * @param studentIds the ids of the students in the group
+	 * @param from the earliest time of day to look at
+	 * @param to the latest time of day to look at
+	 * @param minMinutes the shortest window to return
+	 * @return the free windows of the group, by day and then by start time
+	 * @throws IllegalArgumentException if the ids are null or a student has no session,
+	 * or if the times are invalid
+	 */
+	public ArrayList<int[]> findCommonFreeTime(ArrayList<String> studentIds, int from, int to, int minMinutes) {
+		if (studentIds == null) {
+			throw new IllegalArgumentException("Invalid student id.");
+		}
+		ArrayList<ScheduleSnapshot> schedules = new ArrayList<ScheduleSnapshot>(studentIds.size());
+		for (String studentId : studentIds) {
+			WolfScheduler session = studentId == null ? null : sessions.get(studentId);
+			if (session == null) {
+				throw new IllegalArgumentException("Invalid student id.");
+			}
+			schedules.add(session.getScheduleSnapshot());
+		}
+		return FreeTime.findCommonFreeTime(schedules, from, to, minMinutes);
+	}
+
+}
@@ -2,8 +2,21 @@
 package edu.ncsu.csc216.wolf_scheduler.scheduler;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogSortKey;
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.catalog.ListCourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.catalog.SectionSeats;
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 import edu.ncsu.csc216.wolf_scheduler.course.Event;
@@ -15,19 +28,55 @@ import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
  * This class is responsible to manage the course catalog and the student schedule, 
  * it allows the student to add and remove courses, also it allows the student to export the schedule.
  * There is a file that the catalog is read from and stored as a list and  the schedule is a separate list that
- * holds the courses the student added
+ * holds the courses the student added.
+ * The catalog never changes once loaded. The schedule and title are published as immutable
+ * snapshots, changes are made under the lock of the WolfScheduler and swap in a new snapshot, and
+ * readers use the current snapshot without locking. So each student's schedule can be used from
+ * many threads and schedules of different students never wait on each other.
+ * Every change keeps the snapshot before it so it can be undone and redone.
+ * A WolfScheduler can share the seat counts of the catalog sections with other students, then
+ * a course takes a seat when it is added and gives it back when it is removed, reset, or undone.
+ * Freed seats are passed on to a waitlist once the change is done and the lock is let go, so
+ * promoting a waiting student never holds the lock of the student who dropped.
  * @author Steven Saleeb
  */
 public class WolfScheduler {
 	
-	/** A list of all the available courses in the catalog */
-	private ArrayList<Course> catalog;
+	/** All the available courses in the catalog */
+	private final CourseCatalog catalog;
 	
-	/** List of all the activities in the student schedule */
-	private ArrayList<Activity> schedule;
+	/** Seat counts of the catalog sections shared with other students, or null if seats are not limited */
+	private final SectionSeats seats;
 	
-	/** Title of the schedule */
-	private String title;
+	/** Called with each section whose seat was given back, or null if no one is waiting for seats */
+	private final IntConsumer seatReleased;
+	
+	/** Sections whose seats were given back and not yet passed to seatReleased */
+	private final ArrayList<Integer> releasedSections = new ArrayList<Integer>();
+	
+	/** Current version of the student schedule and its title */
+	private volatile ScheduleSnapshot schedule;
+	
+	/** Names of the courses in the student schedule */
+	private HashSet<String> courseNames;
+	
+	/** Titles of the events in the student schedule */
+	private HashSet<String> eventTitles;
+
+	/** True if undo or redo changed the schedule and the course names and event titles are out of date */
+	private boolean membershipStale;
+
+	/** True once the session is closed, after which the schedule can not be changed */
+	private boolean closed;
+
+	/** Most schedules kept for undo */
+	private static final int MAX_HISTORY = 500;
+
+	/** Earlier schedules to go back to, newest first */
+	private final ArrayDeque<ScheduleSnapshot> undoHistory = new ArrayDeque<ScheduleSnapshot>();
+
+	/** Undone schedules to go forward to, newest first */
+	private final ArrayDeque<ScheduleSnapshot> redoHistory = new ArrayDeque<ScheduleSnapshot>();
 
 	/**
 	 * Loads the course catalog from the file and makes an empty schedule and sets a default title for the schedule
@@ -35,58 +84,148 @@ public class WolfScheduler {
 	 * @throws IllegalArgumentException if the file can not be read
 	 */
 	public WolfScheduler(String filename) {
-		schedule = new ArrayList<Activity>();
-		title = "My Schedule";
+		schedule = new ScheduleSnapshot(0, "My Schedule", new Activity[0]);
+		courseNames = new HashSet<String>();
+		eventTitles = new HashSet<String>();
 		try {
-			catalog = CourseRecordIO.readCourseRecords(filename);
+			catalog = new ListCourseCatalog(CourseRecordIO.readCourseRecords(filename));
 		} catch  (FileNotFoundException e) {
 			throw new IllegalArgumentException("Cannot find file.");
 		}
+		seats = null;
+		seatReleased = null;
+	}
+
+	/**
+	 * Uses an already loaded course catalog and makes an empty schedule with the default title
+	 * @param catalog the course catalog
+	 * @throws IllegalArgumentException if the catalog is null
+	 */
+	public WolfScheduler(CourseCatalog catalog) {
+		this(catalog, null);
+	}
+
+	/**
+	 * Uses an already loaded course catalog and seat counts shared with other students,
+	 * and makes an empty schedule with the default title
+	 * @param catalog the course catalog
+	 * @param seats the seat counts of the catalog sections, or null if seats are not limited
+	 * @throws IllegalArgumentException if the catalog is null or the seats are for a different number of sections
+	 */
+	public WolfScheduler(CourseCatalog catalog, SectionSeats seats) {
+		this(catalog, seats, null);
+	}
+
+	/**
+	 * Uses an already loaded course catalog and seat counts shared with other students, and
+	 * tells the caller about every seat it gives back
+	 * @param catalog the course catalog
+	 * @param seats the seat counts of the catalog sections, or null if seats are not limited
+	 * @param seatReleased called with the catalog index of each section whose seat was given back,
+	 *        never while holding the lock, or null
+	 * @throws IllegalArgumentException if the catalog is null or the seats are for a different number of sections
+	 */
+	WolfScheduler(CourseCatalog catalog, SectionSeats seats, IntConsumer seatReleased) {
+		if (catalog == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		if (seats != null && seats.size() != catalog.size()) {
+			throw new IllegalArgumentException("Invalid seats.");
+		}
+		schedule = new ScheduleSnapshot(0, "My Schedule", new Activity[0]);
+		courseNames = new HashSet<String>();
+		eventTitles = new HashSet<String>();
+		this.catalog = catalog;
+		this.seats = seats;
+		this.seatReleased = seatReleased;
 	}
 
 	/**
 	 * Returns the course catalog as a 2D array and each row contains 
-	 * the course name, the section, the title and the meeting informations
+	 * the course name, the section, the title and the meeting informations.
+	 * The rows are rendered once per catalog and each call gets its own copy.
 	 * @return a 2D array of the course catalog
 	 */
 	public String[][] getCourseCatalog() {
-		String [][] catalogArray = new String[catalog.size()][4];
-		for (int i = 0; i < catalog.size(); i++) {
-			Course course = catalog.get(i);
-			catalogArray[i] = course.getShortDisplayArray();
+		return catalog.getShortDisplayArray();
+	}
+
+	/**
+	 * Returns one page of the course catalog in catalog order as a 2D array,
+	 * only the rows on the page are made
+	 * @param offset the position of the first course on the page
+	 * @param limit the most courses on the page
+	 * @return a 2D array of the courses on the page
+	 * @throws IllegalArgumentException if the offset or limit is negative
+	 */
+	public String[][] getCourseCatalog(int offset, int limit) {
+		return catalog.getShortDisplayArray(offset, limit, null);
+	}
+
+	/**
+	 * Returns one page of the course catalog in the given order as a 2D array,
+	 * only the rows on the page are made
+	 * @param offset the position of the first course on the page
+	 * @param limit the most courses on the page
+	 * @param sortKey the order of the courses
+	 * @return a 2D array of the courses on the page
+	 * @throws IllegalArgumentException if the offset or limit is negative or the sort key is null
+	 */
+	public String[][] getCourseCatalog(int offset, int limit, CatalogSortKey sortKey) {
+		if (sortKey == null) {
+			throw new IllegalArgumentException("Invalid sort key.");
 		}
-		return catalogArray;
+		return catalog.getShortDisplayArray(offset, limit, sortKey);
+	}
+
+	/**
+	 * Returns the current version of the student schedule. The snapshot does not change,
+	 * so it can be read while the schedule keeps changing.
+	 * @return the schedule snapshot
+	 */
+	public ScheduleSnapshot getScheduleSnapshot() {
+		return schedule;
 	}
 
 	/**
 	 * Returns the student schedule as a 2D array and each row contains 
 	 * the course name, the section and the title, and the meeting informations.
+	 * The rows are rendered once per schedule version and each call gets its own copy.
 	 * @return a 2D array of the scheduled activities
 	 */
 	public String[][] getScheduledActivities() {
-		String[][] scheduleArray = new String[schedule.size()][4];
-		for (int i = 0; i < schedule.size(); i++) {
-			Activity activity = schedule.get(i);
-			scheduleArray[i] = activity.getShortDisplayArray();
+		return schedule.getShortDisplayArray();
+	}
+
+	/**
+	 * Returns one page of the student schedule as a 2D array
+	 * @param offset the position of the first activity on the page
+	 * @param limit the most activities on the page
+	 * @return a 2D array of the scheduled activities on the page
+	 * @throws IllegalArgumentException if the offset or limit is negative
+	 */
+	public String[][] getScheduledActivities(int offset, int limit) {
+		if (offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("Invalid page.");
 		}
-		return scheduleArray;
+		ScheduleSnapshot current = schedule;
+		int end = (int) Math.min(current.size(), (long) offset + limit);
+		String[][] page = new String[Math.max(0, end - offset)][];
+		for (int i = 0; i < page.length; i++) {
+			page[i] = current.getShortDisplayRow(offset + i);
+		}
+		return page;
 	}
 	
 	/**
 	 * Returns the student's full schedule as a 2D array with all the details 
 	 * each row contains the course name, the section, the title, the number of credits,
 	 * the instructor Id, the meeting days and the meeting times.
+	 * The rows are rendered once per schedule version and each call gets its own copy.
 	 * @return a 2D array of the full schedule
 	 */
 	public String[][] getFullScheduledActivities() {
-		String[][] fullSchedule = new String[schedule.size()][7];
-		for (int i = 0; i < schedule.size(); i++) {
-			
-			Activity activity = schedule.get(i);
-			fullSchedule[i] = activity.getLongDisplayArray();
-			
-		}
-		return fullSchedule;
+		return schedule.getLongDisplayArray();
 	}
 	
 	
@@ -99,14 +238,157 @@ public class WolfScheduler {
 	 * @return the course object if found or null if it doesn't exist
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
-		for (Course course : catalog) {
-			String x = course.getName();
-			String y = course.getSection();
-	        if (x.equals(name) && y.equals(section)) {
-	            return course;
-	        }
-	    }
-	    return null;
+		int idx = catalog.indexOf(name, section);
+		if (idx < 0) {
+			return null;
+		}
+		return catalog.getCourse(idx);
+	}
+
+	/**
+	 * Searches the catalog for the courses whose name starts with the given prefix,
+	 * like "CSC 2" for all the 200 level CSC courses
+	 * @param namePrefix the start of the course name
+	 * @return the matching courses in name and section order
+	 * @throws IllegalArgumentException if the prefix is null
+	 */
+	public ArrayList<Course> searchCourseCatalog(String namePrefix) {
+		return getCatalogCourses(catalog.searchByNamePrefix(namePrefix));
+	}
+
+	/**
+	 * Searches the catalog for the courses with the words of the query in their titles.
+	 * Words are matched without case and the last word also matches longer words it starts,
+	 * so "software dev" finds "Software Development Fundamentals".
+	 * @param query the words to look for
+	 * @param matchAll true if every word has to be in the title, false if any word is enough
+	 * @return the matching courses, best match first
+	 * @throws IllegalArgumentException if the query is null
+	 */
+	public ArrayList<Course> searchCourseTitles(String query, boolean matchAll) {
+		return getCatalogCourses(catalog.searchTitles(query, matchAll));
+	}
+
+	/**
+	 * Searches the catalog for the courses that meet only on the given days inside a time window.
+	 * Searching "TH" from 1300 to 1600 finds the courses meeting on Tuesday, Thursday, or both that
+	 * start at or after 1:00PM and end at or before 4:00PM. Searching "A" finds the arranged courses.
+	 * @param meetingDays the days to look on, or "A" for arranged courses
+	 * @param startAfter the earliest start time
+	 * @param endBefore the latest end time
+	 * @return the matching courses sorted by start time
+	 * @throws IllegalArgumentException if the days or times are invalid
+	 */
+	public ArrayList<Course> searchCourseTimes(String meetingDays, int startAfter, int endBefore) {
+		return getCatalogCourses(catalog.searchMeetingTimes(meetingDays, startAfter, endBefore));
+	}
+
+	/**
+	 * Returns the courses in the catalog from the given department
+	 * @param department the department letters, like "CSC"
+	 * @return the courses of the department in name and section order
+	 */
+	public ArrayList<Course> getDepartmentCourses(String department) {
+		return getCatalogCourses(catalog.getDepartmentSections(department));
+	}
+
+	/**
+	 * Returns the departments that have courses in the catalog
+	 * @return the departments in sorted order
+	 */
+	public String[] getDepartments() {
+		return catalog.getDepartments();
+	}
+
+	/**
+	 * Returns the catalog courses at the given indexes
+	 * @param indexes the indexes of the sections in the catalog
+	 * @return the courses
+	 */
+	private ArrayList<Course> getCatalogCourses(int[] indexes) {
+		ArrayList<Course> courses = new ArrayList<Course>(indexes.length);
+		for (int idx : indexes) {
+			courses.add(catalog.getCourse(idx));
+		}
+		return courses;
+	}
+
+	/**
+	 * Finds every way to take one section of each of the given courses without two sections
+	 * meeting at the same time. The current schedule is not changed or taken into account.
+	 * @param courseNames the names of the courses to take, like "CSC 216"
+	 * @return the conflict free schedules, each with its courses in the order they were asked for
+	 * @throws IllegalArgumentException if a course name is null, repeated, or not in the catalog
+	 */
+	public ArrayList<ArrayList<Course>> generateSchedules(ArrayList<String> courseNames) {
+		ArrayList<ArrayList<Course>> schedules = new ArrayList<ArrayList<Course>>();
+		for (int[] sections : new ScheduleGenerator(catalog, courseNames).generate()) {
+			schedules.add(getCatalogCourses(sections));
+		}
+		return schedules;
+	}
+
+	/**
+	 * Streams the ways to take one section of each of the given courses without two sections
+	 * meeting at the same time. The schedules are found as the stream is read, in the same order
+	 * as generateSchedules(), so the first ones can be shown right away and the rest paged through
+	 * with the stream's iterator or skip() and limit().
+	 * @param courseNames the names of the courses to take, like "CSC 216"
+	 * @return the stream of conflict free schedules, each with its courses in the order they were asked for
+	 * @throws IllegalArgumentException if a course name is null, repeated, or not in the catalog
+	 */
+	public Stream<ArrayList<Course>> streamSchedules(ArrayList<String> courseNames) {
+		Iterator<int[]> schedules = new ScheduleGenerator(catalog, courseNames).iterator();
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(schedules, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.map(this::getCatalogCourses);
+	}
+
+	/**
+	 * Finds up to the given number of ways to take one section of each of the given courses
+	 * without two sections meeting at the same time. The search is split across the threads of
+	 * the common fork join pool and stops as soon as enough schedules are found, so which
+	 * schedules are returned can change from call to call when there are more than the limit.
+	 * @param courseNames the names of the courses to take, like "CSC 216"
+	 * @param limit the most schedules to return
+	 * @return the conflict free schedules, each with its courses in the order they were asked for
+	 * @throws IllegalArgumentException if a course name is null, repeated, or not in the catalog,
+	 * or if the limit is less than one
+	 */
+	public ArrayList<ArrayList<Course>> generateSchedules(ArrayList<String> courseNames, int limit) {
+		if (limit < 1) {
+			throw new IllegalArgumentException("Invalid limit.");
+		}
+		ArrayList<ArrayList<Course>> schedules = new ArrayList<ArrayList<Course>>();
+		for (int[] sections : new ScheduleGenerator(catalog, courseNames).generate(ForkJoinPool.commonPool(), limit)) {
+			schedules.add(getCatalogCourses(sections));
+		}
+		return schedules;
+	}
+
+	/**
+	 * Finds the best ways to take one section of each of the given courses without two sections
+	 * meeting at the same time, scored by the given cost. For example
+	 * {@code ScheduleCost.idleMinutes().plus(ScheduleCost.fridays().times(60))} prefers compact
+	 * days and counts each class on Friday as an hour of idle time.
+	 * @param courseNames the names of the courses to take, like "CSC 216"
+	 * @param cost the cost of a schedule, lower is better
+	 * @param k the most schedules to return
+	 * @return the lowest cost schedules, best first, each with its courses in the order they were asked for
+	 * @throws IllegalArgumentException if a course name is null, repeated, or not in the catalog,
+	 * if the cost is null, or if k is less than one
+	 */
+	public ArrayList<ArrayList<Course>> optimizeSchedules(ArrayList<String> courseNames, ScheduleCost cost, int k) {
+		if (cost == null) {
+			throw new IllegalArgumentException("Invalid cost.");
+		}
+		if (k < 1) {
+			throw new IllegalArgumentException("Invalid limit.");
+		}
+		ArrayList<ArrayList<Course>> schedules = new ArrayList<ArrayList<Course>>();
+		for (int[] sections : new ScheduleGenerator(catalog, courseNames).optimize(cost, k)) {
+			schedules.add(getCatalogCourses(sections));
+		}
+		return schedules;
 	}
 
 	/**
@@ -115,36 +397,211 @@ public class WolfScheduler {
 	 * @param name the name of the course 
 	 * @param section the section of the course
 	 * @return true if the course is added, false if it doesn't exist
-	 * @throws IllegalArgumentException if the course is already in the schedule
+	 * @throws IllegalArgumentException if the course is already in the schedule or the section has no open seats
+	 * @throws IllegalStateException if the session is closed
 	 */
-	public boolean addCourseToSchedule(String name, String section) {
-		Course course = getCourseFromCatalog(name, section);
-		if (course == null) {
+	public synchronized boolean addCourseToSchedule(String name, String section) {
+		checkOpen();
+		int idx = catalog.indexOf(name, section);
+		if (idx < 0) {
 			return false;
 		}
-		for (int i = 0; i < schedule.size(); i++) { 
-			Activity activites = schedule.get(i);
-			if (activites.isDuplicate(course)) {
-				throw new IllegalArgumentException("You are already enrolled in " + name);
-			}
+		Course course = catalog.getCourse(idx);
+		updateMembership();
+		if (courseNames.contains(course.getName())) {
+			throw new IllegalArgumentException("You are already enrolled in " + name);
+		}
+		if (seats != null && !seats.tryEnroll(idx)) {
+			throw new IllegalArgumentException(noSeatsMessage(name, section));
 		}
-		schedule.add(course);
+		publish(schedule.withActivity(course));
+		courseNames.add(course.getName());
 		return true;
 	}
 
+	/**
+	 * Adds a course whose seat was already taken for the student, used to promote a student
+	 * from the waitlist of a full section. The promotion is not a change the student made, so it
+	 * is not undone: the course is also added to the schedules kept for undo and redo that do not
+	 * have the course, and undo and redo go on to the student's own changes with the seat kept.
+	 * @param idx the catalog index of the section
+	 * @return true if the course is added, false if the session is closed or the student is
+	 * already enrolled in the course
+	 */
+	synchronized boolean addWaitlistedCourse(int idx) {
+		if (closed) {
+			return false;
+		}
+		Course course = catalog.getCourse(idx);
+		updateMembership();
+		if (courseNames.contains(course.getName())) {
+			return false;
+		}
+		schedule = schedule.withActivity(course);
+		addToHistory(undoHistory, course);
+		addToHistory(redoHistory, course);
+		courseNames.add(course.getName());
+		return true;
+	}
+
+	/**
+	 * Adds a course to each schedule of a history that does not have a section of it yet.
+	 * Must be called while holding the lock.
+	 * @param history the undo or redo history, newest first
+	 * @param course the course to add
+	 */
+	private void addToHistory(ArrayDeque<ScheduleSnapshot> history, Course course) {
+		ArrayDeque<ScheduleSnapshot> added = new ArrayDeque<ScheduleSnapshot>(history.size());
+		for (ScheduleSnapshot old : history) {
+			added.addLast(old.hasCourse(course.getName()) ? old : old.withActivity(course));
+		}
+		history.clear();
+		history.addAll(added);
+	}
+
+	/**
+	 * Adds a cart of courses and events to the schedule, all of them or none. Every item is
+	 * checked before anything is added: each course has to be in the catalog and not already in
+	 * the schedule or earlier in the cart, and each event title has to be new in the same way.
+	 * The result has one entry for each course and then each event, null if the item is fine or
+	 * the message the single add would have given. The schedule only changes if every entry is null.
+	 * Seats are taken for the courses only once every item is fine, and if a section turns out to be
+	 * full the seats already taken are given back.
+	 * @param courses the name and section of each course to add
+	 * @param events the events to add
+	 * @return the result of each course and then each event, all null if everything was added
+	 * @throws IllegalArgumentException if either list is null
+	 * @throws IllegalStateException if the session is closed
+	 */
+	public String[] addActivitiesToSchedule(ArrayList<String[]> courses, ArrayList<Event> events) {
+		try {
+			return addActivities(courses, events);
+		} finally {
+			passReleasedSeats();
+		}
+	}
+
+	/**
+	 * Adds the courses and events of a cart while holding the lock
+	 * @param courses the name and section of each course to add
+	 * @param events the events to add
+	 * @return the result of each course and then each event, all null if everything was added
+	 * @throws IllegalArgumentException if either list is null
+	 * @throws IllegalStateException if the session is closed
+	 */
+	private synchronized String[] addActivities(ArrayList<String[]> courses, ArrayList<Event> events) {
+		checkOpen();
+		if (courses == null) {
+			throw new IllegalArgumentException("Invalid course.");
+		}
+		if (events == null) {
+			throw new IllegalArgumentException("Invalid event.");
+		}
+		updateMembership();
+		String[] results = new String[courses.size() + events.size()];
+		Activity[] added = new Activity[results.length];
+		HashSet<String> cartNames = new HashSet<String>();
+		HashSet<String> cartTitles = new HashSet<String>();
+		int[] sections = new int[courses.size()];
+		boolean valid = true;
+		for (int i = 0; i < courses.size(); i++) {
+			String[] pair = courses.get(i);
+			if (pair == null || pair.length != 2) {
+				results[i] = "Invalid course.";
+			} else {
+				int idx = catalog.indexOf(pair[0], pair[1]);
+				if (idx < 0) {
+					results[i] = "Course doesn't exist.";
+				} else if (courseNames.contains(pair[0]) || !cartNames.add(pair[0])) {
+					results[i] = "You are already enrolled in " + pair[0];
+				} else {
+					added[i] = catalog.getCourse(idx);
+					sections[i] = idx;
+				}
+			}
+			valid &= results[i] == null;
+		}
+		for (int i = 0; i < events.size(); i++) {
+			int item = courses.size() + i;
+			Event event = events.get(i);
+			if (event != null) {
+				//The schedule keeps its own copy, like addEventToSchedule, so the caller can not change it later
+				event = new Event(event.getTitle(), event.getMeetingDays(), event.getStartTime(), event.getEndTime(),
+						event.getEventDetails());
+			}
+			if (event == null) {
+				results[item] = "Invalid event.";
+			} else if (eventTitles.contains(event.getTitle()) || !cartTitles.add(event.getTitle())) {
+				results[item] = "You have already created an event called " + event.getTitle();
+			} else {
+				added[item] = event;
+			}
+			valid &= results[item] == null;
+		}
+		if (valid && seats != null) {
+			for (int i = 0; i < sections.length; i++) {
+				if (!seats.tryEnroll(sections[i])) {
+					for (int j = 0; j < i; j++) {
+						releaseSeat(sections[j]);
+					}
+					results[i] = noSeatsMessage(courses.get(i)[0], courses.get(i)[1]);
+					return results;
+				}
+			}
+		}
+		if (valid) {
+			publish(schedule.withActivities(added));
+			courseNames.addAll(cartNames);
+			eventTitles.addAll(cartTitles);
+		}
+		return results;
+	}
+
 	/**
 	 * Removes an activity from the schedule by index.
 	 * Returns true if the activity was removed, false if it was invalid
 	 * @param idx the index of the activity to remove
 	 * @return true if the activity was removed, false if not 
+	 * @throws IllegalStateException if the session is closed
 	 */
 	public boolean removeActivityFromSchedule(int idx) {
 		try {
-			schedule.remove(idx);
-			return true;
+			return removeActivity(idx);
+		} finally {
+			passReleasedSeats();
+		}
+	}
+
+	/**
+	 * Removes an activity from the schedule by index while holding the lock
+	 * @param idx the index of the activity to remove
+	 * @return true if the activity was removed, false if not
+	 * @throws IllegalStateException if the session is closed
+	 */
+	private synchronized boolean removeActivity(int idx) {
+		checkOpen();
+		Activity removed;
+		ScheduleSnapshot next;
+		try {
+			removed = schedule.getActivity(idx);
+			next = schedule.withoutActivity(idx);
 		} catch (IndexOutOfBoundsException e){
 			return false;
 		}
+		updateMembership();
+		publish(next);
+		switch (removed.getKind()) {
+		case COURSE:
+			courseNames.remove(((Course) removed).getName());
+			releaseSeat((Course) removed);
+			break;
+		case EVENT:
+			eventTitles.remove(removed.getTitle());
+			break;
+		default:
+			break;
+		}
+		return true;
 	}
 	
 	/**
@@ -155,23 +612,332 @@ public class WolfScheduler {
 	 * @param eventEndTime the end time of the event
 	 * @param eventDetails the details of the event
 	 * @throws IllegalArgumentException if an event with the same title already exists
+	 * @throws IllegalStateException if the session is closed
 	 */
-	public void addEventToSchedule(String eventTitle, String eventMeetingDays, int eventStartTime, int eventEndTime, String eventDetails) {
+	public synchronized void addEventToSchedule(String eventTitle, String eventMeetingDays, int eventStartTime, int eventEndTime, String eventDetails) {
+		checkOpen();
 		Activity newEvent = new Event(eventTitle, eventMeetingDays, eventStartTime, eventEndTime, eventDetails);
-		for (int i = 0; i < schedule.size(); i++) {
-			Activity activities = schedule.get(i);
-			if(activities.isDuplicate(newEvent)) {
-				throw new IllegalArgumentException("You have already created an event called " + eventTitle);
-			}
+		updateMembership();
+		if (eventTitles.contains(newEvent.getTitle())) {
+			throw new IllegalArgumentException("You have already created an event called " + eventTitle);
 		}
-		schedule.add(newEvent);
+		publish(schedule.withActivity(newEvent));
+		eventTitles.add(newEvent.getTitle());
 	}
 
 	/**
-	 * reset the schedule and creates a new empty schedule for the student
+	 * reset the schedule and creates a new empty schedule for the student.
+	 * The old schedule can be brought back with undo.
+	 * @throws IllegalStateException if the session is closed
 	 */
 	public void resetSchedule() {
-		schedule = new ArrayList<Activity>();
+		try {
+			reset();
+		} finally {
+			passReleasedSeats();
+		}
+	}
+
+	/**
+	 * Empties the schedule while holding the lock
+	 * @throws IllegalStateException if the session is closed
+	 */
+	private synchronized void reset() {
+		checkOpen();
+		ScheduleSnapshot old = schedule;
+		publish(schedule.withoutActivities());
+		for (Activity activity : old.getActivities()) {
+			if (activity.getKind() == Activity.Kind.COURSE) {
+				releaseSeat((Course) activity);
+			}
+		}
+		courseNames = new HashSet<String>();
+		eventTitles = new HashSet<String>();
+		membershipStale = false;
+	}
+
+	/**
+	 * Goes back to the schedule before the last change. Undo is quick because snapshots share
+	 * their unchanged activities, the course names and event titles are brought up to date on
+	 * the next change instead.
+	 * @return true if a change was undone, false if there was nothing to undo
+	 * @throws IllegalArgumentException if a course the undo would bring back has no open seats
+	 * @throws IllegalStateException if the session is closed
+	 */
+	public boolean undo() {
+		try {
+			return undoChange();
+		} finally {
+			passReleasedSeats();
+		}
+	}
+
+	/**
+	 * Goes back to the schedule before the last change while holding the lock
+	 * @return true if a change was undone, false if there was nothing to undo
+	 * @throws IllegalArgumentException if a course the undo would bring back has no open seats
+	 * @throws IllegalStateException if the session is closed
+	 */
+	private synchronized boolean undoChange() {
+		checkOpen();
+		if (undoHistory.isEmpty()) {
+			return false;
+		}
+		moveSeats(schedule, undoHistory.peek());
+		redoHistory.push(schedule);
+		schedule.releaseCaches();
+		schedule = undoHistory.pop().withVersion(schedule.getVersion() + 1);
+		membershipStale = true;
+		return true;
+	}
+
+	/**
+	 * Goes forward to the schedule before the last undo
+	 * @return true if a change was redone, false if there was nothing to redo
+	 * @throws IllegalArgumentException if a course the redo would bring back has no open seats
+	 * @throws IllegalStateException if the session is closed
+	 */
+	public boolean redo() {
+		try {
+			return redoChange();
+		} finally {
+			passReleasedSeats();
+		}
+	}
+
+	/**
+	 * Goes forward to the schedule before the last undo while holding the lock
+	 * @return true if a change was redone, false if there was nothing to redo
+	 * @throws IllegalArgumentException if a course the redo would bring back has no open seats
+	 * @throws IllegalStateException if the session is closed
+	 */
+	private synchronized boolean redoChange() {
+		checkOpen();
+		if (redoHistory.isEmpty()) {
+			return false;
+		}
+		moveSeats(schedule, redoHistory.peek());
+		pushUndo(schedule);
+		schedule = redoHistory.pop().withVersion(schedule.getVersion() + 1);
+		membershipStale = true;
+		return true;
+	}
+
+	/**
+	 * Closes the session: gives back the seats of the courses in the schedule, empties the
+	 * schedule and its history, and makes every later change fail. Used when the service ends
+	 * the session, so a caller still holding it can not take seats again.
+	 */
+	void close() {
+		try {
+			closeSchedule();
+		} finally {
+			passReleasedSeats();
+		}
+	}
+
+	/**
+	 * Closes the session while holding the lock
+	 */
+	private synchronized void closeSchedule() {
+		if (closed) {
+			return;
+		}
+		for (Activity activity : schedule.getActivities()) {
+			if (activity.getKind() == Activity.Kind.COURSE) {
+				releaseSeat((Course) activity);
+			}
+		}
+		schedule = schedule.withoutActivities();
+		undoHistory.clear();
+		redoHistory.clear();
+		courseNames = new HashSet<String>();
+		eventTitles = new HashSet<String>();
+		membershipStale = false;
+		closed = true;
+	}
+
+	/**
+	 * Checks that the session is not closed. Must be called while holding the lock.
+	 * @throws IllegalStateException if the session is closed
+	 */
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("Session is closed.");
+		}
+	}
+
+	/**
+	 * Checks if there is a change to undo
+	 * @return true if undo would change the schedule
+	 */
+	public synchronized boolean canUndo() {
+		return !undoHistory.isEmpty();
+	}
+
+	/**
+	 * Checks if there is an undone change to redo
+	 * @return true if redo would change the schedule
+	 */
+	public synchronized boolean canRedo() {
+		return !redoHistory.isEmpty();
+	}
+
+	/**
+	 * Makes a new snapshot the current schedule. The old one is kept for undo and the
+	 * redo history is cleared. Must be called while holding the lock.
+	 * @param next the new snapshot
+	 */
+	private void publish(ScheduleSnapshot next) {
+		pushUndo(schedule);
+		redoHistory.clear();
+		schedule = next;
+	}
+
+	/**
+	 * Keeps a snapshot for undo, dropping the oldest one once there are too many.
+	 * Must be called while holding the lock.
+	 * @param old the snapshot to keep
+	 */
+	private void pushUndo(ScheduleSnapshot old) {
+		old.releaseCaches();
+		undoHistory.push(old);
+		if (undoHistory.size() > MAX_HISTORY) {
+			undoHistory.removeLast();
+		}
+	}
+
+	/**
+	 * Takes the seats of the courses in the next schedule that are not in the current one and
+	 * gives back the seats of the courses in the current one that are not in the next one.
+	 * Nothing changes if a seat can not be taken. Must be called while holding the lock.
+	 * @param current the current schedule
+	 * @param next the schedule about to become current
+	 * @throws IllegalArgumentException if a course of the next schedule has no open seats
+	 */
+	private void moveSeats(ScheduleSnapshot current, ScheduleSnapshot next) {
+		if (seats == null) {
+			return;
+		}
+		HashSet<Integer> had = courseSections(current);
+		HashSet<Integer> will = courseSections(next);
+		ArrayList<Integer> taken = new ArrayList<Integer>();
+		for (int idx : will) {
+			if (!had.contains(idx)) {
+				if (!seats.tryEnroll(idx)) {
+					for (int t : taken) {
+						releaseSeat(t);
+					}
+					throw new IllegalArgumentException(noSeatsMessage(catalog.getName(idx), catalog.getSection(idx)));
+				}
+				taken.add(idx);
+			}
+		}
+		for (int idx : had) {
+			if (!will.contains(idx)) {
+				releaseSeat(idx);
+			}
+		}
+	}
+
+	/**
+	 * Finds the catalog sections of the courses in a schedule
+	 * @param snapshot the schedule
+	 * @return the catalog indexes of its courses
+	 */
+	private HashSet<Integer> courseSections(ScheduleSnapshot snapshot) {
+		HashSet<Integer> sections = new HashSet<Integer>();
+		for (Activity activity : snapshot.getActivities()) {
+			if (activity.getKind() == Activity.Kind.COURSE) {
+				Course course = (Course) activity;
+				int idx = catalog.indexOf(course.getName(), course.getSection());
+				if (idx >= 0) {
+					sections.add(idx);
+				}
+			}
+		}
+		return sections;
+	}
+
+	/**
+	 * Gives back the seat of a course that left the schedule
+	 * @param course the course
+	 */
+	private void releaseSeat(Course course) {
+		if (seats != null) {
+			int idx = catalog.indexOf(course.getName(), course.getSection());
+			if (idx >= 0) {
+				releaseSeat(idx);
+			}
+		}
+	}
+
+	/**
+	 * Gives back a seat of a section and remembers the section for seatReleased.
+	 * Must be called while holding the lock.
+	 * @param idx the catalog index of the section
+	 */
+	private void releaseSeat(int idx) {
+		seats.release(idx);
+		if (seatReleased != null) {
+			releasedSections.add(idx);
+		}
+	}
+
+	/**
+	 * Passes the sections whose seats were given back to seatReleased. Must be called without
+	 * holding the lock, since seatReleased may add courses to the schedules of other students.
+	 */
+	private void passReleasedSeats() {
+		if (seatReleased == null) {
+			return;
+		}
+		Integer[] released;
+		synchronized (this) {
+			if (releasedSections.isEmpty()) {
+				return;
+			}
+			released = releasedSections.toArray(new Integer[0]);
+			releasedSections.clear();
+		}
+		for (int idx : released) {
+			seatReleased.accept(idx);
+		}
+	}
+
+	/**
+	 * Returns the message for a section with no open seats
+	 * @param name the course name
+	 * @param section the section
+	 * @return the message
+	 */
+	private static String noSeatsMessage(String name, String section) {
+		return "There are no open seats in " + name + "-" + section;
+	}
+
+	/**
+	 * Rebuilds the course names and event titles from the schedule if undo or redo changed it.
+	 * Must be called while holding the lock.
+	 */
+	private void updateMembership() {
+		if (!membershipStale) {
+			return;
+		}
+		courseNames = new HashSet<String>();
+		eventTitles = new HashSet<String>();
+		for (Activity activity : schedule.getActivities()) {
+			switch (activity.getKind()) {
+			case COURSE:
+				courseNames.add(((Course) activity).getName());
+				break;
+			case EVENT:
+				eventTitles.add(activity.getTitle());
+				break;
+			default:
+				break;
+			}
+		}
+		membershipStale = false;
 	}
 
 	
@@ -179,12 +945,55 @@ public class WolfScheduler {
 	 * Sets the title of the schedule
 	 * @param title the new title for the schedule
 	 * @throws IllegalArgumentException if the title is null
+	 * @throws IllegalStateException if the session is closed
 	 */
-	public void setScheduleTitle(String title) {
+	public synchronized void setScheduleTitle(String title) {
+		checkOpen();
 		if (title == null) {
 			throw new IllegalArgumentException("Title cannot be null.");
 		}
-		this.title = title;
+		publish(schedule.withTitle(title));
+	}
+
+	/**
+	 * Returns the total credit hours of the courses in the schedule. The total is kept up to
+	 * date with each change, so this does not look at the courses.
+	 * @return the credit hours
+	 */
+	public int getScheduleCredits() {
+		return schedule.getCredits();
+	}
+
+	/**
+	 * Returns the number of days of the week with at least one course in the schedule.
+	 * Arranged courses and events do not count.
+	 * @return the days on campus
+	 */
+	public int getDaysOnCampus() {
+		return schedule.getDaysOnCampus();
+	}
+
+	/**
+	 * Returns the minutes of class in a week for the courses in the schedule.
+	 * Arranged courses and events do not count.
+	 * @return the weekly contact minutes
+	 */
+	public int getWeeklyContactMinutes() {
+		return schedule.getWeeklyMinutes();
+	}
+
+	/**
+	 * Finds the windows of time when the student is free, see FreeTime.findCommonFreeTime()
+	 * @param from the earliest time of day to look at
+	 * @param to the latest time of day to look at
+	 * @param minMinutes the shortest window to return
+	 * @return the free windows, by day and then by start time
+	 * @throws IllegalArgumentException if the times are invalid
+	 */
+	public ArrayList<int[]> getFreeTime(int from, int to, int minMinutes) {
+		ArrayList<ScheduleSnapshot> schedules = new ArrayList<ScheduleSnapshot>();
+		schedules.add(schedule);
+		return FreeTime.findCommonFreeTime(schedules, from, to, minMinutes);
 	}
 
 	/**
@@ -192,7 +1001,7 @@ public class WolfScheduler {
 	 * @return the schedule title
 	 */
 	public String getScheduleTitle() {
-		return title;
+		return schedule.getTitle();
 	}
 	
 	/**
@@ -202,7 +1011,7 @@ public class WolfScheduler {
 	 */
 	public void exportSchedule(String filename) {
 		try {
-			ActivityRecordIO.writeActivityRecords(filename, schedule);
+			ActivityRecordIO.writeActivityRecords(filename, schedule.getActivities());
 			
 		} catch (IOException e) {
 			throw new IllegalArgumentException("The file cannot be saved.");
@@ -0,0 +1,61 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the CatalogKeyIndex class.
+ */
+public class CatalogKeyIndexTest {
+
+	/**
+	 * Tests finding every section of a large catalog.
+	 */
+	@Test
+	public void testIndexOfLargeCatalog() {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		String[] departments = {"CSC", "MA", "E", "HESF", "csc"};
+		for (String department : departments) {
+			for (int number = 100; number < 600; number += 7) {
+				for (int section = 1; section <= 5; section++) {
+					courses.add(new Course(department + " " + number, "Title", String.format("%03d", section), 3, "id", "A"));
+				}
+			}
+		}
+		CatalogKeyIndex index = new CatalogKeyIndex(new ListCourseCatalog(courses));
+		for (int i = 0; i < courses.size(); i++) {
+			assertEquals(i, index.indexOf(courses.get(i).getName(), courses.get(i).getSection()));
+		}
+		assertEquals(-1, index.indexOf("CSC 101", "001"));
+		assertEquals(-1, index.indexOf("CSC 100", "006"));
+		assertEquals(-1, index.indexOf("CS 100", "001"));
+		assertEquals(-1, index.indexOf("CSC100", "001"));
+		assertEquals(-1, index.indexOf(null, "001"));
+	}
+
+	/**
+	 * Tests duplicate sections and sections without a packed key.
+	 */
+	@Test
+	public void testIndexOfDuplicatesAndUnpacked() {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC 216", "First", "001", 3, "id", "A"));
+		courses.add(new Course("CSC 216", "Second", "001", 3, "id", "A"));
+		courses.add(new Course("\u00c9CO 216", "Third", "001", 3, "id", "A"));
+		courses.add(new Course("\u00c9CO 216", "Fourth", "001", 3, "id", "A"));
+		CatalogKeyIndex index = new CatalogKeyIndex(new ListCourseCatalog(courses));
+
+		assertEquals(0, index.indexOf("CSC 216", "001"));
+		assertEquals(2, index.indexOf("\u00c9CO 216", "001"));
+		assertEquals(-1, index.indexOf("\u00c9CO 216", "002"));
+
+		CatalogKeyIndex empty = new CatalogKeyIndex(new ListCourseCatalog(new ArrayList<Course>()));
+		assertEquals(-1, empty.indexOf("CSC 216", "001"));
+	}
+
+}
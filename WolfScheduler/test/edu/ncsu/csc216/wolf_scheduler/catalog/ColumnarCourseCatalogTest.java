@@ -0,0 +1,82 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests the ColumnarCourseCatalog class.
+ */
+public class ColumnarCourseCatalogTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+
+	/**
+	 * Tests that the columnar catalog has the same sections as the list catalog.
+	 */
+	@Test
+	public void testColumnarCourseCatalog() {
+		ArrayList<Course> courses = readCourses();
+		CourseCatalog list = new ListCourseCatalog(courses);
+		CourseCatalog columns = new ColumnarCourseCatalog(courses);
+
+		assertEquals(13, columns.size());
+		assertEquals(list.size(), columns.size());
+		for (int i = 0; i < list.size(); i++) {
+			assertEquals(list.getKey(i), columns.getKey(i));
+			assertEquals(list.getName(i), columns.getName(i));
+			assertEquals(list.getSection(i), columns.getSection(i));
+			assertEquals(list.getTitle(i), columns.getTitle(i));
+			assertEquals(list.getCredits(i), columns.getCredits(i));
+			assertEquals(list.getInstructorId(i), columns.getInstructorId(i));
+			assertEquals(list.getMeetingDays(i), columns.getMeetingDays(i));
+			assertEquals(list.getStartTime(i), columns.getStartTime(i));
+			assertEquals(list.getEndTime(i), columns.getEndTime(i));
+			assertEquals(list.getDaysMask(i), columns.getDaysMask(i));
+			assertEquals(list.getCourse(i), columns.getCourse(i));
+			assertEquals(String.join(",", list.getShortDisplayArray(i)), String.join(",", columns.getShortDisplayArray(i)));
+		}
+	}
+
+	/**
+	 * Tests finding sections by name and section.
+	 */
+	@Test
+	public void testIndexOf() {
+		CourseCatalog columns = new ColumnarCourseCatalog(readCourses());
+
+		assertEquals(3, columns.indexOf("CSC 216", "001"));
+		assertEquals("CSC 216", columns.getName(3));
+		assertEquals(6, columns.indexOf("CSC 217", "202"));
+		assertEquals(-1, columns.indexOf("CSC 492", "001"));
+		assertEquals(-1, columns.indexOf("CSC216", "001"));
+		assertEquals(-1, columns.indexOf(null, null));
+
+		//Arranged sections keep an empty days mask
+		int arranged = columns.indexOf("CSC 216", "601");
+		assertEquals("A", columns.getMeetingDays(arranged));
+		assertEquals(0, columns.getDaysMask(arranged));
+		assertEquals("Arranged", columns.getShortDisplayArray(arranged)[3]);
+	}
+
+	/**
+	 * Reads the courses from the valid test file.
+	 * @return the courses
+	 */
+	private ArrayList<Course> readCourses() {
+		try {
+			return CourseRecordIO.readCourseRecords(validTestFile);
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+			return null;
+		}
+	}
+
+}
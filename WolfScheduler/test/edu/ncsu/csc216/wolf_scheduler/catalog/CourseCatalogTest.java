@@ -0,0 +1,88 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests the behavior shared by all course catalogs in the CourseCatalog class.
+ */
+public class CourseCatalogTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+
+	/**
+	 * Tests the cached short display array of the whole catalog.
+	 * @throws FileNotFoundException if the test file can not be read
+	 */
+	@Test
+	public void testGetShortDisplayArray() throws FileNotFoundException {
+		CourseCatalog catalog = new ListCourseCatalog(CourseRecordIO.readCourseRecords(validTestFile));
+		String[][] display = catalog.getShortDisplayArray();
+		assertEquals(13, display.length);
+		assertEquals("CSC 116", display[0][0]);
+		assertEquals("MW 9:10AM-11:00AM", display[0][3]);
+		assertEquals("Arranged", display[5][3]);
+
+		//Each call gets its own rows, rendered once and shared string by string
+		display[0][2] = "Changed";
+		String[][] again = catalog.getShortDisplayArray();
+		assertNotSame(display, again);
+		assertEquals("Intro to Programming - Java", again[0][2]);
+		assertSame(display[0][3], again[0][3]);
+	}
+
+	/**
+	 * Tests pages of the catalog in catalog order.
+	 * @throws FileNotFoundException if the test file can not be read
+	 */
+	@Test
+	public void testGetShortDisplayArrayPage() throws FileNotFoundException {
+		CourseCatalog catalog = new ColumnarCourseCatalog(CourseRecordIO.readCourseRecords(validTestFile));
+
+		String[][] page = catalog.getShortDisplayArray(3, 4, null);
+		assertEquals(4, page.length);
+		assertEquals("CSC 216", page[0][0]);
+		assertEquals("001", page[0][1]);
+		assertEquals("CSC 217", page[3][0]);
+		assertEquals("202", page[3][1]);
+
+		//Pages past the end are cut short or empty
+		assertEquals(3, catalog.getShortDisplayArray(10, 40, null).length);
+		assertEquals(0, catalog.getShortDisplayArray(13, 40, null).length);
+		assertEquals(0, catalog.getShortDisplayArray(100, 40, null).length);
+		assertEquals(0, catalog.getShortDisplayArray(0, 0, null).length);
+		assertEquals(13, catalog.getShortDisplayArray(0, Integer.MAX_VALUE, null).length);
+		assertEquals(3, catalog.getShortDisplayArray(10, Integer.MAX_VALUE, null).length);
+
+		assertThrows(IllegalArgumentException.class, () -> catalog.getShortDisplayArray(-1, 40, null));
+		assertThrows(IllegalArgumentException.class, () -> catalog.getShortDisplayArray(0, -1, null));
+	}
+
+	/**
+	 * Tests the sort orders of the catalog.
+	 * @throws FileNotFoundException if the test file can not be read
+	 */
+	@Test
+	public void testGetSortOrder() throws FileNotFoundException {
+		CourseCatalog catalog = new OffHeapCourseCatalog(CourseRecordIO.readCourseRecords(validTestFile));
+
+		assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12}, catalog.getSortOrder(CatalogSortKey.NAME));
+		assertArrayEquals(new int[] {11, 12, 10, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, catalog.getSortOrder(CatalogSortKey.TITLE));
+		assertArrayEquals(new int[] {7, 12, 0, 10, 6, 1, 2, 11, 3, 4, 8, 5, 9}, catalog.getSortOrder(CatalogSortKey.START_TIME));
+		assertArrayEquals(new int[] {11, 4, 5, 0, 12, 3, 6, 7, 8, 9, 1, 2, 10}, catalog.getSortOrder(CatalogSortKey.INSTRUCTOR));
+		assertSame(catalog.getSortOrder(CatalogSortKey.TITLE), catalog.getSortOrder(CatalogSortKey.TITLE));
+
+		String[][] page = catalog.getShortDisplayArray(11, 5, CatalogSortKey.START_TIME);
+		assertEquals(2, page.length);
+		assertEquals("Arranged", page[0][3]);
+		assertEquals("CSC 216", page[0][0]);
+		assertEquals("CSC 217", page[1][0]);
+	}
+
+}
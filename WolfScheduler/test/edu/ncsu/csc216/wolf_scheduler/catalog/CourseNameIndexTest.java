@@ -0,0 +1,70 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the CourseNameIndex class through CourseCatalog.
+ */
+public class CourseNameIndexTest {
+
+	/**
+	 * Makes a catalog with sections of courses from a few departments, not in sorted order.
+	 * @return the catalog
+	 */
+	private CourseCatalog makeCatalog() {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("MA 241", "Calculus III", "001", 4, "ma1", "MWF", 800, 850));
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "002", 3, "cs2", "MW", 1330, 1445));
+		courses.add(new Course("CS 100", "Short Department", "001", 3, "cs0", "A"));
+		courses.add(new Course("CSC 116", "Intro to Programming - Java", "001", 3, "cs1", "MW", 910, 1100));
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "cs2", "TH", 1330, 1445));
+		courses.add(new Course("CSC 316", "Data Structures and Algorithms", "001", 3, "cs3", "MW", 830, 945));
+		courses.add(new Course("MA 141", "Calculus I", "001", 4, "ma1", "MWF", 900, 950));
+		courses.add(new Course("CSC 226", "Discrete Mathematics for Computer Scientists", "001", 3, "cs2", "MWF", 935, 1025));
+		return new ColumnarCourseCatalog(courses);
+	}
+
+	/**
+	 * Tests searching by course name prefix.
+	 */
+	@Test
+	public void testSearchByNamePrefix() {
+		CourseCatalog catalog = makeCatalog();
+
+		assertArrayEquals(new int[] {4, 1, 7}, catalog.searchByNamePrefix("CSC 2"));
+		assertArrayEquals(new int[] {4, 1}, catalog.searchByNamePrefix("CSC 216"));
+		assertArrayEquals(new int[] {3, 4, 1, 7, 5}, catalog.searchByNamePrefix("CSC "));
+		assertArrayEquals(new int[] {2, 3, 4, 1, 7, 5}, catalog.searchByNamePrefix("CS"));
+		assertArrayEquals(new int[] {6, 0}, catalog.searchByNamePrefix("MA"));
+		assertEquals(8, catalog.searchByNamePrefix("").length);
+		assertEquals(0, catalog.searchByNamePrefix("CSC 4").length);
+		assertEquals(0, catalog.searchByNamePrefix("ZZZ").length);
+		assertEquals(0, catalog.searchByNamePrefix("A").length);
+		assertThrows(IllegalArgumentException.class, () -> catalog.searchByNamePrefix(null));
+	}
+
+	/**
+	 * Tests the sections grouped by department.
+	 */
+	@Test
+	public void testDepartments() {
+		CourseCatalog catalog = makeCatalog();
+
+		assertArrayEquals(new String[] {"CS", "CSC", "MA"}, catalog.getDepartments());
+		assertArrayEquals(new int[] {2}, catalog.getDepartmentSections("CS"));
+		assertArrayEquals(new int[] {3, 4, 1, 7, 5}, catalog.getDepartmentSections("CSC"));
+		assertArrayEquals(new int[] {6, 0}, catalog.getDepartmentSections("MA"));
+		assertEquals(0, catalog.getDepartmentSections("ECE").length);
+
+		CourseCatalog empty = new ListCourseCatalog(new ArrayList<Course>());
+		assertEquals(0, empty.getDepartments().length);
+		assertEquals(0, empty.searchByNamePrefix("CSC").length);
+	}
+
+}
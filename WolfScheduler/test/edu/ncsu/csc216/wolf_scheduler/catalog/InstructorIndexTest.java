@@ -0,0 +1,84 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests the InstructorIndex class through CourseCatalog.
+ */
+public class InstructorIndexTest {
+
+	/**
+	 * Makes a catalog where some instructors are booked into overlapping sections.
+	 * @return the catalog
+	 */
+	private CourseCatalog makeCatalog() {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445));
+		courses.add(new Course("CSC 116", "Intro to Programming - Java", "001", 3, "jtking", "MW", 910, 1100));
+		courses.add(new Course("CSC 217", "Software Development Fundamentals Lab", "211", 1, "sesmith5", "T", 1445, 1635));
+		courses.add(new Course("CSC 316", "Data Structures and Algorithms", "001", 3, "jtking", "TH", 910, 1100));
+		courses.add(new Course("CSC 217", "Software Development Fundamentals Lab", "601", 1, "sesmith5", "A"));
+		courses.add(new Course("CSC 226", "Discrete Mathematics for Computer Scientists", "001", 3, "sesmith5", "MWF", 800, 1700));
+		courses.add(new Course("CSC 217", "Software Development Fundamentals Lab", "223", 1, "sesmith5", "H", 1400, 1500));
+		courses.add(new Course("CSC 230", "C and Software Tools", "001", 3, "dbsturgi", "MW", 1145, 1300));
+		return new OffHeapCourseCatalog(courses);
+	}
+
+	/**
+	 * Tests finding the sections of each instructor.
+	 */
+	@Test
+	public void testGetInstructorSections() {
+		CourseCatalog catalog = makeCatalog();
+
+		assertArrayEquals(new String[] {"dbsturgi", "jtking", "sesmith5"}, catalog.getInstructors());
+		assertArrayEquals(new int[] {0, 2, 6, 4, 5}, catalog.getInstructorSections("sesmith5"));
+		assertArrayEquals(new int[] {1, 3}, catalog.getInstructorSections("jtking"));
+		assertArrayEquals(new int[] {7}, catalog.getInstructorSections("dbsturgi"));
+		assertEquals(0, catalog.getInstructorSections("nobody").length);
+	}
+
+	/**
+	 * Tests finding the sections an instructor is booked into at the same time.
+	 */
+	@Test
+	public void testGetInstructorConflicts() {
+		CourseCatalog catalog = makeCatalog();
+
+		//jtking's sections meet on different days and the arranged section never overlaps.
+		//216-001 and 217-211 touch at 1445, which counts as an overlap.
+		//217-211 and 217-223 overlap in time but not on the same day.
+		int[][] conflicts = catalog.getInstructorConflicts();
+		assertEquals(2, conflicts.length);
+		assertArrayEquals(new int[] {0, 6}, conflicts[0]);
+		assertArrayEquals(new int[] {0, 2}, conflicts[1]);
+		assertFalse(catalog.overlaps(2, 6));
+
+		assertTrue(catalog.overlaps(0, 2));
+		assertTrue(catalog.overlaps(2, 0));
+		assertFalse(catalog.overlaps(1, 3));
+		assertFalse(catalog.overlaps(4, 0));
+		assertFalse(catalog.overlaps(4, 4));
+		assertFalse(catalog.overlaps(5, 0));
+	}
+
+	/**
+	 * Tests that the catalog in the test file has no instructor booked twice.
+	 * @throws FileNotFoundException if the test file can not be read
+	 */
+	@Test
+	public void testNoConflicts() throws FileNotFoundException {
+		CourseCatalog catalog = new ListCourseCatalog(CourseRecordIO.readCourseRecords("test-files/course_records.txt"));
+		assertEquals(0, catalog.getInstructorConflicts().length);
+		assertEquals(5, catalog.getInstructorSections("sesmith5").length);
+	}
+
+}
@@ -0,0 +1,129 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests the OffHeapCourseCatalog class.
+ */
+public class OffHeapCourseCatalogTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+
+	/**
+	 * Tests that the off-heap catalog has the same sections as the list catalog.
+	 */
+	@Test
+	public void testOffHeapCourseCatalog() {
+		ArrayList<Course> courses = readCourses();
+		CourseCatalog list = new ListCourseCatalog(courses);
+		CourseCatalog records = new OffHeapCourseCatalog(courses);
+
+		assertEquals(13, records.size());
+		assertEquals(13 * 40, ((OffHeapCourseCatalog) records).getOffHeapBytes());
+		assertEquals(list.size(), records.size());
+		for (int i = 0; i < list.size(); i++) {
+			assertEquals(list.getKey(i), records.getKey(i));
+			assertEquals(list.getName(i), records.getName(i));
+			assertEquals(list.getSection(i), records.getSection(i));
+			assertEquals(list.getTitle(i), records.getTitle(i));
+			assertEquals(list.getCredits(i), records.getCredits(i));
+			assertEquals(list.getInstructorId(i), records.getInstructorId(i));
+			assertEquals(list.getMeetingDays(i), records.getMeetingDays(i));
+			assertEquals(list.getStartTime(i), records.getStartTime(i));
+			assertEquals(list.getEndTime(i), records.getEndTime(i));
+			assertEquals(list.getDaysMask(i), records.getDaysMask(i));
+			assertEquals(list.getCourse(i), records.getCourse(i));
+			assertEquals(String.join(",", list.getShortDisplayArray(i)), String.join(",", records.getShortDisplayArray(i)));
+		}
+
+		//The whole catalog display is made on each call instead of being kept
+		String[][] display = records.getShortDisplayArray();
+		assertEquals(13, display.length);
+		assertArrayEquals(list.getShortDisplayArray(), display);
+		assertNotSame(display, records.getShortDisplayArray());
+	}
+
+	/**
+	 * Tests finding sections by name and section.
+	 */
+	@Test
+	public void testIndexOf() {
+		CourseCatalog records = new OffHeapCourseCatalog(readCourses());
+
+		assertEquals(3, records.indexOf("CSC 216", "001"));
+		assertEquals("CSC 216", records.getName(3));
+		assertEquals(6, records.indexOf("CSC 217", "202"));
+		assertEquals(-1, records.indexOf("CSC 492", "001"));
+		assertEquals(-1, records.indexOf("CSC216", "001"));
+		assertEquals(-1, records.indexOf(null, null));
+		assertThrows(IndexOutOfBoundsException.class, () -> records.getName(13));
+		assertThrows(IndexOutOfBoundsException.class, () -> records.getName(-1));
+
+		//Arranged sections keep an empty days mask
+		int arranged = records.indexOf("CSC 216", "601");
+		assertEquals("A", records.getMeetingDays(arranged));
+		assertEquals(0, records.getDaysMask(arranged));
+		assertEquals("Arranged", records.getShortDisplayArray(arranged)[3]);
+	}
+
+	/**
+	 * Tests that a catalog too large for one buffer is rejected before anything is stored.
+	 */
+	@Test
+	public void testTooLarge() {
+		Course course = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445);
+		List<Course> huge = new AbstractList<Course>() {
+			@Override
+			public Course get(int index) {
+				return course;
+			}
+
+			@Override
+			public int size() {
+				return OffHeapCourseCatalog.MAX_SIZE + 1;
+			}
+		};
+		Exception e = assertThrows(IllegalArgumentException.class, () -> new OffHeapCourseCatalog(huge));
+		assertEquals("Catalog is too large.", e.getMessage());
+	}
+
+	/**
+	 * Tests that the dictionaries only keep their strings once the catalog is built.
+	 */
+	@Test
+	public void testFrozenDictionary() {
+		StringDictionary dictionary = new StringDictionary();
+		assertEquals(0, dictionary.encode("CSC 216"));
+		assertEquals(1, dictionary.encode("CSC 116"));
+		assertEquals(0, dictionary.encode("CSC 216"));
+		dictionary.freeze();
+		assertEquals("CSC 116", dictionary.decode(1));
+		assertEquals(2, dictionary.size());
+		assertThrows(IllegalStateException.class, () -> dictionary.encode("CSC 316"));
+	}
+
+	/**
+	 * Reads the courses from the valid test file.
+	 * @return the courses
+	 */
+	private ArrayList<Course> readCourses() {
+		try {
+			return CourseRecordIO.readCourseRecords(validTestFile);
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,136 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the SectionSeats class.
+ */
+public class SectionSeatsTest {
+
+	/**
+	 * Tests taking and giving back seats.
+	 */
+	@Test
+	public void testEnrollAndRelease() {
+		SectionSeats seats = new SectionSeats(new int[] {2, 0, 1});
+		assertEquals(3, seats.size());
+		assertEquals(2, seats.getCapacity(0));
+		assertEquals(2, seats.getOpenSeats(0));
+
+		assertTrue(seats.tryEnroll(0));
+		assertTrue(seats.tryEnroll(0));
+		assertFalse(seats.tryEnroll(0));
+		assertEquals(2, seats.getEnrolled(0));
+		assertEquals(0, seats.getOpenSeats(0));
+		assertFalse(seats.tryEnroll(1));
+		assertTrue(seats.tryEnroll(2));
+
+		seats.release(0);
+		assertEquals(1, seats.getOpenSeats(0));
+		assertTrue(seats.tryEnroll(0));
+		assertThrows(IllegalStateException.class, () -> seats.release(1));
+		assertThrows(IndexOutOfBoundsException.class, () -> seats.getEnrolled(3));
+		assertThrows(IndexOutOfBoundsException.class, () -> seats.release(-1));
+	}
+
+	/**
+	 * Tests that open seats only go to the waitlist while students wait.
+	 */
+	@Test
+	public void testWaiting() {
+		SectionSeats seats = new SectionSeats(new int[] {2});
+		assertTrue(seats.tryEnroll(0));
+		seats.addWaiting(0);
+		seats.addWaiting(0);
+		assertEquals(2, seats.getWaiting(0));
+		assertFalse(seats.tryEnroll(0));
+		assertEquals(1, seats.getOpenSeats(0));
+		assertTrue(seats.tryEnrollWaiting(0));
+		assertFalse(seats.tryEnrollWaiting(0));
+		seats.release(0);
+
+		seats.removeWaiting(0);
+		assertFalse(seats.tryEnroll(0));
+		seats.removeWaiting(0);
+		assertEquals(0, seats.getWaiting(0));
+		assertTrue(seats.tryEnroll(0));
+		assertThrows(IllegalStateException.class, () -> seats.removeWaiting(0));
+		assertThrows(IndexOutOfBoundsException.class, () -> seats.addWaiting(1));
+		assertThrows(IndexOutOfBoundsException.class, () -> seats.tryEnroll(1));
+	}
+
+	/**
+	 * Tests invalid capacities.
+	 */
+	@Test
+	public void testInvalid() {
+		assertThrows(IllegalArgumentException.class, () -> new SectionSeats(null));
+		assertThrows(IllegalArgumentException.class, () -> new SectionSeats(new int[] {1, -1}));
+		assertThrows(IllegalArgumentException.class, () -> new SectionSeats((CourseCatalog) null, 5));
+
+		int[] capacities = {1};
+		SectionSeats seats = new SectionSeats(capacities);
+		capacities[0] = 5;
+		assertEquals(1, seats.getCapacity(0));
+	}
+
+	/**
+	 * Has many threads enroll in and drop a few sections at once and checks that exactly the
+	 * capacity of each section is taken once they are done.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testConcurrentEnroll() throws InterruptedException {
+		int sections = 4;
+		int capacity = 50;
+		int threadCount = 8;
+		SectionSeats seats = new SectionSeats(new int[] {capacity, capacity, capacity, capacity});
+		AtomicInteger[] taken = new AtomicInteger[sections];
+		for (int i = 0; i < sections; i++) {
+			taken[i] = new AtomicInteger();
+		}
+		CyclicBarrier start = new CyclicBarrier(threadCount);
+		ArrayList<Thread> threads = new ArrayList<Thread>();
+		ArrayList<Throwable> errors = new ArrayList<Throwable>();
+		for (int t = 0; t < threadCount; t++) {
+			int seed = t;
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+					for (int i = 0; i < 5000; i++) {
+						int idx = (seed + i) % sections;
+						if (seats.tryEnroll(idx)) {
+							if (i % 3 == 0) {
+								seats.release(idx);
+							} else {
+								taken[idx].incrementAndGet();
+							}
+						}
+						assertTrue(seats.getEnrolled(idx) <= capacity);
+					}
+				} catch (Throwable e) {
+					synchronized (errors) {
+						errors.add(e);
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue(errors.isEmpty(), errors.toString());
+		for (int i = 0; i < sections; i++) {
+			assertEquals(capacity, seats.getEnrolled(i));
+			assertEquals(capacity, taken[i].get());
+		}
+	}
+
+}
@@ -0,0 +1,108 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the TimeIndex class through CourseCatalog.
+ */
+public class TimeIndexTest {
+
+	/**
+	 * Makes a catalog with sections meeting on different days and times.
+	 * @return the catalog
+	 */
+	private CourseCatalog makeCatalog() {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC 116", "Intro to Programming - Java", "001", 3, "cs1", "MW", 910, 1100));
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "cs2", "TH", 1330, 1445));
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "cs2", "A"));
+		courses.add(new Course("CSC 217", "Software Development Fundamentals Lab", "211", 1, "cs2", "T", 1500, 1650));
+		courses.add(new Course("CSC 226", "Discrete Mathematics for Computer Scientists", "001", 3, "cs3", "MWF", 935, 1025));
+		courses.add(new Course("CSC 316", "Data Structures and Algorithms", "001", 3, "cs4", "H", 1300, 1415));
+		courses.add(new Course("CSC 333", "Automata", "001", 3, "cs5", "TF", 1300, 1415));
+		courses.add(new Course("CSC 401", "Data and Network Communications", "001", 3, "cs6", "A"));
+		courses.add(new Course("CSC 492", "Senior Design", "001", 3, "cs7", "F", 1000, 1200));
+		return new ColumnarCourseCatalog(courses);
+	}
+
+	/**
+	 * Tests searching by days and time window.
+	 */
+	@Test
+	public void testSearchMeetingTimes() {
+		CourseCatalog catalog = makeCatalog();
+
+		//Sections meeting on Tuesday, Thursday, or both, but no other day
+		assertArrayEquals(new int[] {5, 1, 3}, catalog.searchMeetingTimes("TH", 1300, 1700));
+		assertArrayEquals(new int[] {5, 1}, catalog.searchMeetingTimes("TH", 1300, 1600));
+		assertArrayEquals(new int[] {1}, catalog.searchMeetingTimes("HT", 1330, 1445));
+		assertArrayEquals(new int[] {5}, catalog.searchMeetingTimes("H", 0, 2359));
+		assertArrayEquals(new int[] {5, 6, 1, 3}, catalog.searchMeetingTimes("TFH", 1200, 1800));
+		assertArrayEquals(new int[] {0, 4}, catalog.searchMeetingTimes("MWF", 900, 1100));
+		assertArrayEquals(new int[] {8}, catalog.searchMeetingTimes("F", 1000, 1200));
+		assertEquals(0, catalog.searchMeetingTimes("MW", 920, 1100).length);
+		assertEquals(0, catalog.searchMeetingTimes("S", 0, 2359).length);
+		assertEquals(7, catalog.searchMeetingTimes("MTWHFSU", 0, 2359).length);
+	}
+
+	/**
+	 * Tests a large search that merges the matches of several days against checking every section.
+	 */
+	@Test
+	public void testSearchMergesDays() {
+		String[] days = {"M", "T", "W", "H", "F", "MW", "TH", "MWF", "TF"};
+		ArrayList<Course> courses = new ArrayList<Course>();
+		for (int i = 0; i < 300; i++) {
+			int start = 800 + (i * 7 % 10) * 100 + (i * 13 % 4) * 15;
+			courses.add(new Course("CSC " + (100 + i), "Section " + i, "001", 3, "cs", days[i % days.length], start, start + 100));
+		}
+		CourseCatalog catalog = new ColumnarCourseCatalog(courses);
+
+		int[] found = catalog.searchMeetingTimes("MTWF", 900, 1600);
+		ArrayList<Integer> expected = new ArrayList<Integer>();
+		for (int i = 0; i < catalog.size(); i++) {
+			if ((catalog.getDaysMask(i) & ~Course.getDaysMask("MTWF")) == 0 && catalog.getStartTime(i) >= 900
+					&& catalog.getEndTime(i) <= 1600) {
+				expected.add(i);
+			}
+		}
+		expected.sort((a, b) -> catalog.getStartTime(a) != catalog.getStartTime(b)
+				? Integer.compare(catalog.getStartTime(a), catalog.getStartTime(b)) : Integer.compare(a, b));
+		assertTrue(expected.size() > 16);
+		assertEquals(expected.size(), found.length);
+		for (int i = 0; i < found.length; i++) {
+			assertEquals((int) expected.get(i), found[i]);
+		}
+	}
+
+	/**
+	 * Tests searching for arranged sections and invalid searches.
+	 */
+	@Test
+	public void testSearchArrangedAndInvalid() {
+		CourseCatalog catalog = makeCatalog();
+
+		assertArrayEquals(new int[] {2, 7}, catalog.searchMeetingTimes("A", 0, 0));
+		assertArrayEquals(new int[] {2, 7}, catalog.searchMeetingTimes("A", 1300, 1200));
+
+		assertThrows(IllegalArgumentException.class, () -> catalog.searchMeetingTimes(null, 0, 2359));
+		assertThrows(IllegalArgumentException.class, () -> catalog.searchMeetingTimes("", 0, 2359));
+		assertThrows(IllegalArgumentException.class, () -> catalog.searchMeetingTimes("MA", 0, 2359));
+		assertThrows(IllegalArgumentException.class, () -> catalog.searchMeetingTimes("MX", 0, 2359));
+		assertThrows(IllegalArgumentException.class, () -> catalog.searchMeetingTimes("M", -1, 2359));
+		assertThrows(IllegalArgumentException.class, () -> catalog.searchMeetingTimes("M", 0, 2400));
+		assertThrows(IllegalArgumentException.class, () -> catalog.searchMeetingTimes("M", 1060, 1200));
+		assertThrows(IllegalArgumentException.class, () -> catalog.searchMeetingTimes("M", 1300, 1200));
+
+		CourseCatalog empty = new ListCourseCatalog(new ArrayList<Course>());
+		assertEquals(0, empty.searchMeetingTimes("MTWHF", 0, 2359).length);
+		assertEquals(0, empty.searchMeetingTimes("A", 0, 0).length);
+	}
+
+}
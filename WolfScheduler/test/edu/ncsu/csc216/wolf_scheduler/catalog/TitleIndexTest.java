@@ -0,0 +1,88 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the TitleIndex class through CourseCatalog.
+ */
+public class TitleIndexTest {
+
+	/**
+	 * Makes a catalog with sections of courses from a few departments.
+	 * @return the catalog
+	 */
+	private CourseCatalog makeCatalog() {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("MA 241", "Calculus III", "001", 4, "ma1", "MWF", 800, 850));
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "002", 3, "cs2", "MW", 1330, 1445));
+		courses.add(new Course("CS 100", "Short Department", "001", 3, "cs0", "A"));
+		courses.add(new Course("CSC 116", "Intro to Programming - Java", "001", 3, "cs1", "MW", 910, 1100));
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "cs2", "TH", 1330, 1445));
+		courses.add(new Course("CSC 316", "Data Structures and Algorithms", "001", 3, "cs3", "MW", 830, 945));
+		courses.add(new Course("MA 141", "Calculus I", "001", 4, "ma1", "MWF", 900, 950));
+		courses.add(new Course("CSC 226", "Discrete Mathematics for Computer Scientists", "001", 3, "cs2", "MWF", 935, 1025));
+		return new OffHeapCourseCatalog(courses);
+	}
+
+	/**
+	 * Tests splitting titles into words.
+	 */
+	@Test
+	public void testTokenize() {
+		assertArrayEquals(new String[] {"intro", "to", "programming", "java"}, TitleIndex.tokenize("Intro to Programming - Java"));
+		assertArrayEquals(new String[] {"calculus", "iii"}, TitleIndex.tokenize("  CALCULUS III "));
+		assertArrayEquals(new String[] {"c", "and", "c11"}, TitleIndex.tokenize("C and C11"));
+		assertEquals(0, TitleIndex.tokenize("").length);
+		assertEquals(0, TitleIndex.tokenize(" - ").length);
+	}
+
+	/**
+	 * Tests searches where every word has to match.
+	 */
+	@Test
+	public void testSearchMatchAll() {
+		CourseCatalog catalog = makeCatalog();
+
+		assertArrayEquals(new int[] {1, 4}, catalog.searchTitles("software development", true));
+		assertArrayEquals(new int[] {1, 4}, catalog.searchTitles("SOFTWARE", true));
+		//Shorter titles come first
+		assertArrayEquals(new int[] {6, 0}, catalog.searchTitles("calculus", true));
+		assertArrayEquals(new int[] {0}, catalog.searchTitles("calculus iii", true));
+		//The last word is a prefix, the others are not
+		assertArrayEquals(new int[] {6, 0}, catalog.searchTitles("calc", true));
+		assertArrayEquals(new int[] {6, 0}, catalog.searchTitles("calculus i", true));
+		assertArrayEquals(new int[] {2, 1, 4}, catalog.searchTitles("de", true));
+		assertEquals(0, catalog.searchTitles("calc iii", true).length);
+		assertEquals(0, catalog.searchTitles("software zzz", true).length);
+		assertEquals(0, catalog.searchTitles("", true).length);
+		assertEquals(0, catalog.searchTitles(" - ", true).length);
+		assertThrows(IllegalArgumentException.class, () -> catalog.searchTitles(null, true));
+	}
+
+	/**
+	 * Tests searches where any word can match.
+	 */
+	@Test
+	public void testSearchMatchAny() {
+		CourseCatalog catalog = makeCatalog();
+
+		//Sections matching more words come first
+		assertArrayEquals(new int[] {3, 5}, catalog.searchTitles("data programming java", false));
+		//Then shorter titles
+		assertArrayEquals(new int[] {5, 7}, catalog.searchTitles("computer structures", false));
+		assertArrayEquals(new int[] {6, 0, 1, 4}, catalog.searchTitles("calculus soft", false));
+		assertArrayEquals(new int[] {1, 4}, catalog.searchTitles("zzz software", false));
+		assertEquals(0, catalog.searchTitles("zzz", false).length);
+
+		CourseCatalog empty = new ListCourseCatalog(new ArrayList<Course>());
+		assertEquals(0, empty.searchTitles("software", false).length);
+		assertEquals(0, empty.searchTitles("software", true).length);
+	}
+
+}
@@ -488,4 +488,49 @@ public class CourseTest {
 		assertEquals(s2, c2.toString());
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Tests the packed name and section key.
+	 */
+	@Test
+	public void testGetKey() {
+		Course c1 = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		Course c2 = new Course(NAME, "Different", SECTION, 1, "Different", "A");
+		Course c3 = new Course(NAME, TITLE, "002", CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		Course c4 = new Course("CSC 217", TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		Course c5 = new Course("csc 216", TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+
+		// Same name and section have the same key
+		assertNotEquals(Course.NO_KEY, c1.getKey());
+		assertEquals(c1.getKey(), c2.getKey());
+		assertEquals(Course.packKey(NAME, SECTION), c1.getKey());
+		assertTrue(c1.hasSameNameAndSection(c2));
+
+		// Different section keeps the same name key
+		assertNotEquals(c1.getKey(), c3.getKey());
+		assertEquals(c1.getNameKey(), c3.getNameKey());
+		assertFalse(c1.hasSameNameAndSection(c3));
+
+		// Different names have different keys
+		assertNotEquals(c1.getNameKey(), c4.getNameKey());
+		assertNotEquals(c1.getNameKey(), c5.getNameKey());
+
+		// Changing the section updates the key
+		c3.setSection(SECTION);
+		assertEquals(c1.getKey(), c3.getKey());
+
+		// Names and sections outside of the packed format have no key
+		assertEquals(Course.NO_KEY, Course.packKey("CSC216", SECTION));
+		assertEquals(Course.NO_KEY, Course.packKey("CSCDE 216", SECTION));
+		assertEquals(Course.NO_KEY, Course.packKey(NAME, "01"));
+		assertEquals(Course.NO_KEY, Course.packKey(NAME, null));
+		Course c6 = new Course("\u00c9CO 216", TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		Course c7 = new Course("\u00c9CO 216", TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		assertEquals(Course.NO_KEY, c6.getKey());
+		assertTrue(c6.hasSameNameAndSection(c7));
+		assertTrue(c6.isDuplicate(c7));
+		assertEquals(c6, c7);
+		assertEquals(c6.hashCode(), c7.hashCode());
+		assertFalse(c1.isDuplicate(c6));
+	}
+
+}
@@ -298,4 +298,27 @@ public class EventTest {
 		
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Test Event.isDuplicate() and Event.getKind().
+	 */
+	@Test
+	public void testIsDuplicate() {
+		Activity e1 = new Event(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		Activity e2 = new Event(EVENT_TITLE, "MWF", 830, 930, "Details");
+		Activity e3 = new Event("Title", EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		Activity c1 = new Course("CSC 216", EVENT_TITLE, "001", 3, "sesmith5", "A");
+		
+		assertEquals(Activity.Kind.EVENT, e1.getKind());
+		assertEquals(Activity.Kind.COURSE, c1.getKind());
+		
+		//Events with the same title are duplicates
+		assertTrue(e1.isDuplicate(e2));
+		assertFalse(e1.isDuplicate(e3));
+		
+		//Courses are never duplicates of events, even with the same title
+		assertFalse(e1.isDuplicate(c1));
+		assertFalse(c1.isDuplicate(e1));
+		assertFalse(e1.isDuplicate(null));
+	}
+
+}
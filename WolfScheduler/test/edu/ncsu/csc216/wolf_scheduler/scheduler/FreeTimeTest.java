@@ -0,0 +1,131 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests the FreeTime class.
+ */
+public class FreeTimeTest {
+
+	/** Course on Tuesday and Thursday afternoons */
+	private final Activity course = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445);
+	/** Event at lunch on Monday, Wednesday and Friday */
+	private final Activity lunch = new Event("Lunch", "MWF", 1200, 1300, "Food");
+
+	/**
+	 * Makes a schedule snapshot of the given activities.
+	 * @param activities the activities
+	 * @return the snapshot
+	 */
+	private ScheduleSnapshot schedule(Activity... activities) {
+		return new ScheduleSnapshot(0, "My Schedule", activities);
+	}
+
+	/**
+	 * Makes a list of schedule snapshots.
+	 * @param schedules the snapshots
+	 * @return the list
+	 */
+	private ArrayList<ScheduleSnapshot> group(ScheduleSnapshot... schedules) {
+		ArrayList<ScheduleSnapshot> list = new ArrayList<ScheduleSnapshot>();
+		for (ScheduleSnapshot schedule : schedules) {
+			list.add(schedule);
+		}
+		return list;
+	}
+
+	/**
+	 * Tests the free time of one schedule.
+	 */
+	@Test
+	public void testFreeTimeOfOne() {
+		ArrayList<int[]> windows = FreeTime.findCommonFreeTime(group(schedule(course, lunch)), 800, 1700, 30);
+		assertEquals(12, windows.size());
+		assertArrayEquals(new int[] {0, 800, 1200}, windows.get(0));
+		assertArrayEquals(new int[] {0, 1300, 1700}, windows.get(1));
+		assertArrayEquals(new int[] {1, 800, 1330}, windows.get(2));
+		assertArrayEquals(new int[] {1, 1445, 1700}, windows.get(3));
+		assertArrayEquals(new int[] {5, 800, 1700}, windows.get(10));
+		assertArrayEquals(new int[] {6, 800, 1700}, windows.get(11));
+		assertEquals('M', FreeTime.getDayLetter(windows.get(0)[0]));
+		assertEquals('U', FreeTime.getDayLetter(windows.get(11)[0]));
+
+		//Windows shorter than the minimum are left out
+		assertEquals(7, FreeTime.findCommonFreeTime(group(schedule(course, lunch)), 1200, 1400, 35).size());
+
+		//Slots partly taken by an activity are busy, and the search starts at the next whole slot
+		Activity odd = new Event("Odd", "M", 1002, 1058, "");
+		windows = FreeTime.findCommonFreeTime(group(schedule(odd)), 801, 1200, 0);
+		assertArrayEquals(new int[] {0, 805, 1000}, windows.get(0));
+		assertArrayEquals(new int[] {0, 1100, 1200}, windows.get(1));
+		assertEquals(8, windows.size());
+
+		//An arranged course takes no time
+		Activity arranged = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A");
+		assertEquals(7, FreeTime.findCommonFreeTime(group(schedule(arranged)), 0, 2359, 0).size());
+		assertEquals(7, FreeTime.findCommonFreeTime(group(), 0, 2359, 0).size());
+	}
+
+	/**
+	 * Tests the free time of a group.
+	 */
+	@Test
+	public void testCommonFreeTime() {
+		ArrayList<int[]> windows = FreeTime.findCommonFreeTime(group(schedule(course), schedule(lunch)), 1100, 1500, 60);
+		assertEquals(10, windows.size());
+		assertArrayEquals(new int[] {0, 1100, 1200}, windows.get(0));
+		assertArrayEquals(new int[] {0, 1300, 1500}, windows.get(1));
+		assertArrayEquals(new int[] {1, 1100, 1330}, windows.get(2));
+
+		//A large group is combined in parallel and gives the same answer
+		ArrayList<ScheduleSnapshot> large = new ArrayList<ScheduleSnapshot>();
+		for (int i = 0; i < 200; i++) {
+			int start = 800 + i % 8 * 100;
+			large.add(schedule(new Event("Meeting", "MTWHF", start, start + 30, "")));
+		}
+		windows = FreeTime.findCommonFreeTime(large, 800, 1700, 60);
+		assertEquals(7, windows.size());
+		assertArrayEquals(new int[] {0, 1530, 1700}, windows.get(0));
+		assertArrayEquals(new int[] {4, 1530, 1700}, windows.get(4));
+		assertArrayEquals(new int[] {5, 800, 1700}, windows.get(5));
+	}
+
+	/**
+	 * Tests the busy slots kept by a snapshot.
+	 */
+	@Test
+	public void testBusySlots() {
+		ScheduleSnapshot one = schedule(course);
+		long[] slots = one.getBusySlots();
+		assertSame(slots, one.getBusySlots());
+		assertSame(slots, one.withTitle("Title").getBusySlots());
+
+		//Adding to a snapshot with busy slots marks the new activity in a copy
+		ScheduleSnapshot two = one.withActivity(lunch);
+		assertArrayEquals(schedule(course, lunch).getBusySlots(), two.getBusySlots());
+		assertArrayEquals(schedule(course).getBusySlots(), one.getBusySlots());
+		assertArrayEquals(schedule(lunch).getBusySlots(), two.withoutActivity(0).getBusySlots());
+	}
+
+	/**
+	 * Tests invalid searches.
+	 */
+	@Test
+	public void testInvalid() {
+		assertThrows(IllegalArgumentException.class, () -> FreeTime.findCommonFreeTime(null, 800, 1700, 0));
+		assertThrows(IllegalArgumentException.class, () -> FreeTime.findCommonFreeTime(group(), 1700, 800, 0));
+		assertThrows(IllegalArgumentException.class, () -> FreeTime.findCommonFreeTime(group(), 800, 800, 0));
+		assertThrows(IllegalArgumentException.class, () -> FreeTime.findCommonFreeTime(group(), 800, 2400, 0));
+		assertThrows(IllegalArgumentException.class, () -> FreeTime.findCommonFreeTime(group(), 870, 1700, 0));
+		assertThrows(IllegalArgumentException.class, () -> FreeTime.findCommonFreeTime(group(), 800, 1700, -1));
+	}
+
+}
@@ -0,0 +1,79 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.catalog.ListCourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests the ScheduleCost interface and the costs it provides.
+ */
+public class ScheduleCostTest {
+
+	/** Catalog from the test file */
+	private CourseCatalog catalog;
+
+	/**
+	 * Loads the catalog from the test file.
+	 * @throws FileNotFoundException if the test file can not be read
+	 */
+	@BeforeEach
+	public void setUp() throws FileNotFoundException {
+		catalog = new ListCourseCatalog(CourseRecordIO.readCourseRecords("test-files/course_records.txt"));
+	}
+
+	/**
+	 * Tests the idle minutes cost.
+	 */
+	@Test
+	public void testIdleMinutes() {
+		ScheduleCost idle = ScheduleCost.idleMinutes();
+		//CSC 116-001 ends at 11:00AM and CSC 216-002 starts at 1:30PM on Monday and Wednesday
+		assertEquals(300, idle.cost(catalog, new int[] {0, 4}));
+		assertEquals(40, idle.cost(catalog, new int[] {1, 4}));
+		assertEquals(0, idle.cost(catalog, new int[] {0, 5}));
+		assertEquals(465, idle.cost(catalog, new int[] {12, 4, 8}));
+		assertEquals(0, idle.cost(catalog, new int[0]));
+		assertEquals(0, idle.lowerBound(catalog, new int[] {0, 4}, 2));
+	}
+
+	/**
+	 * Tests the costs that only grow as sections are added.
+	 */
+	@Test
+	public void testCountingCosts() {
+		ScheduleCost early = ScheduleCost.earlyStarts(900);
+		assertEquals(2, early.cost(catalog, new int[] {12, 7, 0}));
+		assertEquals(1, early.lowerBound(catalog, new int[] {12, 7, 0}, 1));
+		assertEquals(0, early.cost(catalog, new int[] {5, 9}));
+
+		ScheduleCost fridays = ScheduleCost.fridays();
+		assertEquals(1, fridays.cost(catalog, new int[] {10, 0}));
+		assertEquals(0, fridays.lowerBound(catalog, new int[] {0, 10}, 1));
+
+		ScheduleCost days = ScheduleCost.daysOnCampus();
+		assertEquals(4, days.cost(catalog, new int[] {0, 3}));
+		assertEquals(2, days.lowerBound(catalog, new int[] {0, 3}, 1));
+		assertEquals(0, days.cost(catalog, new int[] {5, 9}));
+	}
+
+	/**
+	 * Tests combining costs.
+	 */
+	@Test
+	public void testPlusAndTimes() {
+		ScheduleCost cost = ScheduleCost.idleMinutes().plus(ScheduleCost.fridays().times(60));
+		assertEquals(170, cost.cost(catalog, new int[] {10, 1}));
+		assertEquals(60, cost.lowerBound(catalog, new int[] {10, 1}, 1));
+		assertEquals(40, cost.cost(catalog, new int[] {1, 4}));
+		assertEquals(0, ScheduleCost.daysOnCampus().times(0).cost(catalog, new int[] {0, 3}));
+		assertThrows(IllegalArgumentException.class, () -> ScheduleCost.fridays().times(-1));
+	}
+
+}
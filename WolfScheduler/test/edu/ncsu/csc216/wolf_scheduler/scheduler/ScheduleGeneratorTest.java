@@ -0,0 +1,259 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.ColumnarCourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.catalog.ListCourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests the ScheduleGenerator class.
+ */
+public class ScheduleGeneratorTest {
+
+	/** Catalog from the test file */
+	private CourseCatalog catalog;
+
+	/**
+	 * Loads the catalog from the test file.
+	 * @throws FileNotFoundException if the test file can not be read
+	 */
+	@BeforeEach
+	public void setUp() throws FileNotFoundException {
+		catalog = new ListCourseCatalog(CourseRecordIO.readCourseRecords("test-files/course_records.txt"));
+	}
+
+	/**
+	 * Makes a list of course names.
+	 * @param names the course names
+	 * @return the list
+	 */
+	static ArrayList<String> names(String... names) {
+		return new ArrayList<String>(Arrays.asList(names));
+	}
+
+	/**
+	 * Makes a catalog of courses that all have one section in each of the same hours, so a
+	 * schedule takes each course in a different hour.
+	 * @param courses the number of courses
+	 * @param hours the number of hours, starting at 8:00AM
+	 * @return the catalog
+	 */
+	static CourseCatalog makeHoursCatalog(int courses, int hours) {
+		ArrayList<Course> list = new ArrayList<Course>();
+		for (int k = 0; k < courses; k++) {
+			for (int h = 0; h < hours; h++) {
+				list.add(new Course("CSC " + (101 + k), "Course " + k, "00" + (h + 1), 3, "inst" + h, "MW",
+						800 + h * 100, 850 + h * 100));
+			}
+		}
+		return new ColumnarCourseCatalog(list);
+	}
+
+	/**
+	 * Tests schedules of courses from the test file.
+	 */
+	@Test
+	public void testGenerate() {
+		//CSC 226 overlaps CSC 116-001
+		ArrayList<int[]> schedules = new ScheduleGenerator(catalog, names("CSC 116", "CSC 226")).generate();
+		assertEquals(2, schedules.size());
+		for (int[] schedule : schedules) {
+			assertEquals("CSC 116", catalog.getName(schedule[0]));
+			assertEquals("CSC 226", catalog.getName(schedule[1]));
+			assertNotEquals("001", catalog.getSection(schedule[0]));
+		}
+
+		//CSC 217-202 overlaps CSC 116-001 and CSC 116-002
+		schedules = new ScheduleGenerator(catalog, names("CSC 217", "CSC 116", "CSC 216")).generate();
+		assertEquals(30, schedules.size());
+		HashSet<String> unique = new HashSet<String>();
+		for (int[] schedule : schedules) {
+			for (int i = 0; i < schedule.length; i++) {
+				for (int j = i + 1; j < schedule.length; j++) {
+					assertFalse(catalog.overlaps(schedule[i], schedule[j]));
+				}
+			}
+			assertTrue(unique.add(Arrays.toString(schedule)));
+		}
+
+		assertEquals(4, new ScheduleGenerator(catalog, names("CSC 217")).generate().size());
+		assertEquals(1, new ScheduleGenerator(catalog, names()).generate().size());
+	}
+
+	/**
+	 * Tests requests that can not be scheduled or are invalid.
+	 */
+	@Test
+	public void testGenerateInvalid() {
+		//CSC 316 and CSC 226 overlap on Monday and Wednesday
+		assertEquals(0, new ScheduleGenerator(catalog, names("CSC 116", "CSC 316", "CSC 226")).generate().size());
+
+		assertThrows(IllegalArgumentException.class, () -> new ScheduleGenerator(catalog, null));
+		assertThrows(IllegalArgumentException.class, () -> new ScheduleGenerator(catalog, names("CSC 116", null)));
+		assertThrows(IllegalArgumentException.class, () -> new ScheduleGenerator(catalog, names("CSC 116", "CSC 116")));
+		assertThrows(IllegalArgumentException.class, () -> new ScheduleGenerator(catalog, names("CSC 492")));
+		assertThrows(IllegalArgumentException.class, () -> new ScheduleGenerator(catalog, names("CSC 21")));
+	}
+
+	/**
+	 * Tests a large request of eight courses with eight sections each.
+	 */
+	@Test
+	public void testGenerateLarge() {
+		CourseCatalog hours = makeHoursCatalog(8, 8);
+		ArrayList<String> request = names("CSC 101", "CSC 102", "CSC 103", "CSC 104", "CSC 105", "CSC 106", "CSC 107", "CSC 108");
+
+		//Each course takes a different hour, so there is one schedule per ordering of the hours
+		assertEquals(40320, new ScheduleGenerator(hours, request).generate().size());
+
+		//Seven hours can not fit eight courses
+		assertEquals(0, new ScheduleGenerator(makeHoursCatalog(8, 7), request).generate().size());
+	}
+
+	/**
+	 * Tests stopping the search once the limit is reached.
+	 */
+	@Test
+	public void testGenerateLimit() {
+		ScheduleGenerator generator = new ScheduleGenerator(makeHoursCatalog(8, 8),
+				names("CSC 101", "CSC 102", "CSC 103", "CSC 104", "CSC 105", "CSC 106", "CSC 107", "CSC 108"));
+		ArrayList<int[]> all = generator.generate();
+
+		ArrayList<int[]> first = generator.generate(100);
+		assertEquals(100, first.size());
+		for (int i = 0; i < first.size(); i++) {
+			assertArrayEquals(all.get(i), first.get(i));
+		}
+		assertEquals(0, generator.generate(0).size());
+		assertEquals(40320, generator.generate(50000).size());
+	}
+
+	/**
+	 * Tests the parallel search against the search on one thread.
+	 */
+	@Test
+	public void testGenerateParallel() {
+		CourseCatalog hours = makeHoursCatalog(8, 8);
+		ScheduleGenerator generator = new ScheduleGenerator(hours,
+				names("CSC 101", "CSC 102", "CSC 103", "CSC 104", "CSC 105", "CSC 106", "CSC 107", "CSC 108"));
+		ArrayList<int[]> all = generator.generate();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			//Without a limit the parallel search finds the same schedules in the same order
+			ArrayList<int[]> parallel = generator.generate(pool, Integer.MAX_VALUE);
+			assertEquals(all.size(), parallel.size());
+			for (int i = 0; i < all.size(); i++) {
+				assertArrayEquals(all.get(i), parallel.get(i));
+			}
+
+			//With a limit it stops at exactly the limit
+			ArrayList<int[]> limited = generator.generate(pool, 1000);
+			assertEquals(1000, limited.size());
+			HashSet<String> unique = new HashSet<String>();
+			for (int[] schedule : limited) {
+				for (int i = 0; i < schedule.length; i++) {
+					for (int j = i + 1; j < schedule.length; j++) {
+						assertFalse(hours.overlaps(schedule[i], schedule[j]));
+					}
+				}
+				assertTrue(unique.add(Arrays.toString(schedule)));
+			}
+
+			assertEquals(0, new ScheduleGenerator(makeHoursCatalog(8, 7), names("CSC 101", "CSC 102", "CSC 103",
+					"CSC 104", "CSC 105", "CSC 106", "CSC 107", "CSC 108")).generate(pool, 10).size());
+			assertEquals(30, new ScheduleGenerator(catalog, names("CSC 217", "CSC 116", "CSC 216")).generate(pool, 100).size());
+			assertEquals(1, new ScheduleGenerator(catalog, names()).generate(pool, 100).size());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Tests finding the schedules one at a time.
+	 */
+	@Test
+	public void testIterator() {
+		ScheduleGenerator generator = new ScheduleGenerator(makeHoursCatalog(8, 8),
+				names("CSC 101", "CSC 102", "CSC 103", "CSC 104", "CSC 105", "CSC 106", "CSC 107", "CSC 108"));
+		ArrayList<int[]> all = generator.generate();
+		Iterator<int[]> schedules = generator.iterator();
+		for (int[] schedule : all) {
+			assertTrue(schedules.hasNext());
+			assertArrayEquals(schedule, schedules.next());
+		}
+		assertFalse(schedules.hasNext());
+		assertThrows(NoSuchElementException.class, () -> schedules.next());
+
+		generator = new ScheduleGenerator(catalog, names("CSC 217", "CSC 116", "CSC 216"));
+		all = generator.generate();
+		Iterator<int[]> other = generator.iterator();
+		for (int[] schedule : all) {
+			assertArrayEquals(schedule, other.next());
+		}
+		assertFalse(other.hasNext());
+
+		assertFalse(new ScheduleGenerator(catalog, names("CSC 116", "CSC 316", "CSC 226")).iterator().hasNext());
+		Iterator<int[]> empty = new ScheduleGenerator(catalog, names()).iterator();
+		assertEquals(0, empty.next().length);
+		assertFalse(empty.hasNext());
+	}
+
+	/**
+	 * Tests finding the lowest cost schedules.
+	 */
+	@Test
+	public void testOptimize() {
+		ScheduleCost cost = ScheduleCost.idleMinutes().plus(ScheduleCost.daysOnCampus().times(100));
+		ArrayList<int[]> best = new ScheduleGenerator(catalog, names("CSC 116", "CSC 216")).optimize(cost, 5);
+		assertEquals(5, best.size());
+		//Two days and no idle time, with CSC 216 arranged
+		assertArrayEquals(new int[] {0, 5}, best.get(0));
+		assertArrayEquals(new int[] {1, 5}, best.get(1));
+		assertArrayEquals(new int[] {2, 5}, best.get(2));
+		//Two days and 20 idle minutes each day
+		assertArrayEquals(new int[] {1, 4}, best.get(3));
+		assertArrayEquals(new int[] {2, 3}, best.get(4));
+
+		assertEquals(9, new ScheduleGenerator(catalog, names("CSC 116", "CSC 216")).optimize(cost, 100).size());
+		assertEquals(0, new ScheduleGenerator(catalog, names("CSC 116", "CSC 216")).optimize(cost, 0).size());
+	}
+
+	/**
+	 * Tests that the optimizer finds the same costs as scoring every schedule.
+	 */
+	@Test
+	public void testOptimizeMatchesAll() {
+		CourseCatalog hours = makeHoursCatalog(6, 8);
+		ScheduleGenerator generator = new ScheduleGenerator(hours, names("CSC 101", "CSC 102", "CSC 103", "CSC 104", "CSC 105", "CSC 106"));
+		ScheduleCost cost = ScheduleCost.idleMinutes().plus(ScheduleCost.earlyStarts(1000).times(100));
+
+		ArrayList<int[]> all = generator.generate();
+		assertEquals(20160, all.size());
+		int[] costs = new int[all.size()];
+		for (int i = 0; i < all.size(); i++) {
+			costs[i] = cost.cost(hours, all.get(i));
+		}
+		Arrays.sort(costs);
+
+		ArrayList<int[]> best = generator.optimize(cost, 10);
+		assertEquals(10, best.size());
+		for (int i = 0; i < best.size(); i++) {
+			assertEquals(costs[i], cost.cost(hours, best.get(i)));
+		}
+	}
+
+}
@@ -0,0 +1,179 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests the ScheduleSnapshot class.
+ */
+public class ScheduleSnapshotTest {
+
+	/** Course in the schedule */
+	private final Activity course = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445);
+	/** Event in the schedule */
+	private final Activity event = new Event("Lunch", "MWF", 1200, 1300, "Food");
+
+	/**
+	 * Tests that changes make new versions and leave the old snapshot alone.
+	 */
+	@Test
+	public void testChanges() {
+		ScheduleSnapshot empty = new ScheduleSnapshot(0, "My Schedule", new Activity[0]);
+		ScheduleSnapshot one = empty.withActivity(course);
+		ScheduleSnapshot two = one.withActivity(event);
+		ScheduleSnapshot titled = two.withTitle("New Title");
+		ScheduleSnapshot removed = titled.withoutActivity(0);
+		ScheduleSnapshot reset = removed.withoutActivities();
+
+		assertEquals(0, empty.size());
+		assertEquals(1, one.size());
+		assertEquals(2, two.size());
+		assertEquals(course, two.getActivity(0));
+		assertEquals(event, two.getActivity(1));
+		assertEquals("My Schedule", two.getTitle());
+		assertEquals("New Title", titled.getTitle());
+		assertEquals(1, removed.size());
+		assertEquals(event, removed.getActivity(0));
+		assertEquals("New Title", reset.getTitle());
+		assertEquals(0, reset.size());
+		assertEquals(5, reset.getVersion());
+
+		assertThrows(IndexOutOfBoundsException.class, () -> one.withoutActivity(1));
+		assertThrows(IndexOutOfBoundsException.class, () -> one.withoutActivity(-1));
+		assertEquals(2, two.getActivities().size());
+	}
+
+	/**
+	 * Tests that the activities handed out are copies that can not change the snapshot.
+	 */
+	@Test
+	public void testActivityCopies() {
+		ScheduleSnapshot two = new ScheduleSnapshot(0, "My Schedule", new Activity[0]).withActivity(course).withActivity(event);
+		int credits = two.getCredits();
+		String[][] display = two.getLongDisplayArray();
+
+		Course copy = (Course) two.getActivity(0);
+		assertEquals(course, copy);
+		assertNotSame(course, copy);
+		copy.setCredits(1);
+		copy.setMeetingDaysAndTime("F", 800, 900);
+		two.getActivities().get(1).setTitle("Changed");
+
+		assertEquals(credits, two.getCredits());
+		assertEquals(credits, ((Course) two.getActivity(0)).getCredits());
+		assertEquals("TH", two.getActivity(0).getMeetingDays());
+		assertEquals("Lunch", two.getActivity(1).getTitle());
+		assertEquals(String.join(",", display[0]), String.join(",", two.getLongDisplayArray()[0]));
+	}
+
+	/**
+	 * Tests that display arrays are made once per snapshot.
+	 */
+	@Test
+	public void testDisplayArrays() {
+		ScheduleSnapshot two = new ScheduleSnapshot(0, "My Schedule", new Activity[0]).withActivity(course).withActivity(event);
+
+		String[][] shortDisplay = two.getShortDisplayArray();
+		assertNotSame(shortDisplay, two.getShortDisplayArray());
+		assertSame(shortDisplay[0][3], two.getShortDisplayArray()[0][3]);
+		two.getShortDisplayArray()[0][0] = "Changed";
+		assertEquals("CSC 216", two.getShortDisplayArray()[0][0]);
+		assertEquals("CSC 216", shortDisplay[0][0]);
+		assertEquals("Lunch", shortDisplay[1][2]);
+		assertEquals(4, shortDisplay[1].length);
+
+		String[][] longDisplay = two.getLongDisplayArray();
+		assertSame(longDisplay[0][6], two.getLongDisplayArray()[0][6]);
+		assertEquals("sesmith5", longDisplay[0][4]);
+		assertEquals("Food", longDisplay[1][6]);
+
+		//A new title keeps the rendered arrays, a new activity does not
+		assertSame(shortDisplay[0][3], two.withTitle("Title").getShortDisplayArray()[0][3]);
+		assertNotSame(shortDisplay[0][3], two.withoutActivity(1).getShortDisplayArray()[0][3]);
+	}
+
+	/**
+	 * Tests removing activities from the middle and bringing back a snapshot under a new version.
+	 */
+	@Test
+	public void testRemoveAndVersion() {
+		Activity second = new Course("CSC 116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 910, 1100);
+		Activity fourth = new Event("Gym", "TH", 700, 800, "");
+		ScheduleSnapshot four = new ScheduleSnapshot(0, "My Schedule", new Activity[] {course, second, event, fourth});
+		assertEquals(4, four.size());
+		assertEquals(second, four.getActivity(1));
+		assertEquals(fourth, four.getActivity(3));
+
+		ScheduleSnapshot removed = four.withoutActivity(1);
+		assertEquals(3, removed.size());
+		assertEquals(course, removed.getActivity(0));
+		assertEquals(event, removed.getActivity(1));
+		assertEquals(fourth, removed.getActivity(2));
+		assertEquals(4, four.size());
+		assertEquals(second, four.getActivity(1));
+
+		assertEquals(1, four.withoutActivity(0).withoutActivity(2).withoutActivity(1).size());
+		assertEquals(second, four.withoutActivity(0).withoutActivity(2).withoutActivity(1).getActivity(0));
+		assertEquals(3, four.withoutActivity(3).size());
+		assertThrows(IndexOutOfBoundsException.class, () -> four.getActivity(4));
+		assertThrows(IndexOutOfBoundsException.class, () -> four.getActivity(-1));
+
+		ScheduleSnapshot added = removed.withActivities(new Activity[] {second});
+		assertEquals(4, added.size());
+		assertEquals(second, added.getActivity(3));
+		assertEquals(2, added.getVersion());
+
+		String[][] display = four.getShortDisplayArray();
+		ScheduleSnapshot again = four.withVersion(7);
+		assertEquals(7, again.getVersion());
+		assertSame(display[0][3], again.getShortDisplayArray()[0][3]);
+		four.releaseCaches();
+		assertNotSame(display[0][3], four.getShortDisplayArray()[0][3]);
+		assertArrayEquals(display, four.getShortDisplayArray());
+	}
+
+	/**
+	 * Tests the totals kept with the activities.
+	 */
+	@Test
+	public void testTotals() {
+		Activity intro = new Course("CSC 116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 910, 1100);
+		Activity lab = new Course("CSC 217", "Software Development Fundamentals Lab", "211", 1, "sesmith5", "T", 830, 1020);
+		Activity arranged = new Course("CSC 217", "Software Development Fundamentals Lab", "601", 1, "sesmith5", "A");
+		ScheduleSnapshot empty = new ScheduleSnapshot(0, "My Schedule", new Activity[0]);
+		assertEquals(0, empty.getCredits());
+		assertEquals(0, empty.getDaysOnCampus());
+		assertEquals(0, empty.getWeeklyMinutes());
+
+		ScheduleSnapshot one = empty.withActivity(course).withActivity(event);
+		assertEquals(3, one.getCredits());
+		assertEquals(2, one.getDaysOnCampus());
+		assertEquals(150, one.getWeeklyMinutes());
+
+		ScheduleSnapshot three = one.withActivities(new Activity[] {intro, lab});
+		assertEquals(7, three.getCredits());
+		assertEquals(4, three.getDaysOnCampus());
+		assertEquals(480, three.getWeeklyMinutes());
+
+		//Removing a course from the middle takes it out of the totals of the courses after it
+		ScheduleSnapshot removed = three.withoutActivity(0);
+		assertEquals(4, removed.getCredits());
+		assertEquals(3, removed.getDaysOnCampus());
+		assertEquals(330, removed.getWeeklyMinutes());
+		assertEquals(3, removed.withoutActivity(2).getCredits());
+		assertEquals(2, removed.withoutActivity(2).getDaysOnCampus());
+
+		ScheduleSnapshot withArranged = removed.withActivity(arranged);
+		assertEquals(5, withArranged.getCredits());
+		assertEquals(3, withArranged.getDaysOnCampus());
+		assertEquals(330, withArranged.getWeeklyMinutes());
+		assertEquals(0, withArranged.withoutActivities().getCredits());
+		assertEquals(5, withArranged.withTitle("Title").getCredits());
+	}
+
+}
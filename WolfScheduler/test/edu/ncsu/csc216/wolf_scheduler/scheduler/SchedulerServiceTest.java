@@ -0,0 +1,677 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.catalog.SectionSeats;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests the SchedulerService class.
+ */
+public class SchedulerServiceTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+	/** Invalid course records */
+	private final String invalidTestFile = "test-files/invalid_course_records.txt";
+
+	/**
+	 * Tests SchedulerService().
+	 */
+	@Test
+	public void testSchedulerService() {
+		SchedulerService service = new SchedulerService(validTestFile);
+		assertEquals(13, service.getCourseCatalog().size());
+		assertEquals(0, service.getSessionCount());
+
+		SchedulerService empty = new SchedulerService(invalidTestFile);
+		assertEquals(0, empty.getCourseCatalog().size());
+
+		assertThrows(IllegalArgumentException.class, () -> new SchedulerService("test-files/not_a_file.txt"));
+		assertThrows(IllegalArgumentException.class, () -> new SchedulerService((CourseCatalog) null));
+	}
+
+	/**
+	 * Tests that sessions share the catalog and keep their own schedules.
+	 */
+	@Test
+	public void testGetSession() {
+		SchedulerService service = new SchedulerService(validTestFile);
+		WolfScheduler first = service.getSession("student1");
+		WolfScheduler second = service.getSession("student2");
+		assertSame(first, service.getSession("student1"));
+		assertNotSame(first, second);
+		assertEquals(2, service.getSessionCount());
+
+		assertTrue(first.addCourseToSchedule("CSC 216", "001"));
+		first.setScheduleTitle("First");
+		assertEquals(1, first.getScheduledActivities().length);
+		assertEquals(0, second.getScheduledActivities().length);
+		assertEquals("My Schedule", second.getScheduleTitle());
+		assertTrue(second.addCourseToSchedule("CSC 216", "001"));
+		assertEquals(first.getCourseFromCatalog("CSC 216", "001"), second.getCourseFromCatalog("CSC 216", "001"));
+		assertSame(first.getCourseCatalog()[0][3], second.getCourseCatalog()[0][3]);
+		first.getCourseCatalog()[0][2] = "Changed";
+		assertEquals("Intro to Programming - Java", second.getCourseCatalog()[0][2]);
+
+		//Changing a course one session was given does not change the shared catalog
+		Course course = first.getCourseFromCatalog("CSC 216", "001");
+		assertNotSame(course, second.getCourseFromCatalog("CSC 216", "001"));
+		course.setTitle("Changed");
+		course.setMeetingDaysAndTime("F", 800, 900);
+		assertEquals("Software Development Fundamentals", second.getCourseFromCatalog("CSC 216", "001").getTitle());
+		assertEquals("Software Development Fundamentals", second.getScheduledActivities()[0][2]);
+		assertEquals(1, service.getCourseCatalog().searchMeetingTimes("TH", 1330, 1445).length);
+
+		assertTrue(service.closeSession("student1"));
+		assertFalse(service.closeSession("student1"));
+		assertFalse(service.closeSession(null));
+		assertEquals(0, service.getSession("student1").getScheduledActivities().length);
+
+		assertThrows(IllegalArgumentException.class, () -> service.getSession(null));
+		assertThrows(IllegalArgumentException.class, () -> service.getSession(""));
+	}
+
+	/**
+	 * Tests using the sessions of different students from different threads.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testSessionsOnDifferentThreads() throws InterruptedException {
+		SchedulerService service = new SchedulerService(validTestFile);
+		ArrayList<Thread> threads = new ArrayList<Thread>();
+		ArrayList<Throwable> errors = new ArrayList<Throwable>();
+		for (int t = 0; t < 8; t++) {
+			String studentId = "student" + t;
+			Thread thread = new Thread(() -> {
+				try {
+					WolfScheduler session = service.getSession(studentId);
+					for (int i = 0; i < 500; i++) {
+						session.addCourseToSchedule("CSC 216", "001");
+						session.addCourseToSchedule("CSC 116", "002");
+						session.addEventToSchedule("Lunch", "MWF", 1200, 1300, studentId);
+						assertEquals(3, session.getScheduledActivities().length);
+						session.removeActivityFromSchedule(1);
+						session.resetSchedule();
+					}
+					session.addCourseToSchedule("CSC 226", "001");
+				} catch (Throwable e) {
+					synchronized (errors) {
+						errors.add(e);
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue(errors.isEmpty(), errors.toString());
+		assertEquals(8, service.getSessionCount());
+		for (int t = 0; t < 8; t++) {
+			assertEquals("CSC 226", service.getSession("student" + t).getScheduledActivities()[0][0]);
+		}
+	}
+
+	/**
+	 * Tests finding the common free time of students with sessions.
+	 */
+	@Test
+	public void testFindCommonFreeTime() {
+		SchedulerService service = new SchedulerService(validTestFile);
+		assertTrue(service.getSession("a").addCourseToSchedule("CSC 216", "001"));
+		assertTrue(service.getSession("b").addCourseToSchedule("CSC 116", "003"));
+		ArrayList<String> ids = new ArrayList<String>();
+		ids.add("a");
+		ids.add("b");
+
+		ArrayList<int[]> windows = service.findCommonFreeTime(ids, 1100, 1500, 10);
+		assertEquals(11, windows.size());
+		assertArrayEquals(new int[] {1, 1100, 1120}, windows.get(1));
+		assertArrayEquals(new int[] {1, 1310, 1330}, windows.get(2));
+		assertArrayEquals(new int[] {1, 1445, 1500}, windows.get(3));
+		assertEquals(7, service.getSession("a").getFreeTime(1100, 1300, 0).size());
+
+		ids.add("nobody");
+		assertThrows(IllegalArgumentException.class, () -> service.findCommonFreeTime(ids, 1100, 1500, 10));
+		assertThrows(IllegalArgumentException.class, () -> service.findCommonFreeTime(null, 1100, 1500, 10));
+		assertEquals(2, service.getSessionCount());
+	}
+
+	/**
+	 * Tests that sessions share the seats of the sections and give them back.
+	 */
+	@Test
+	public void testSectionSeats() {
+		CourseCatalog catalog = new SchedulerService(validTestFile).getCourseCatalog();
+		SectionSeats seats = new SectionSeats(catalog, 1);
+		SchedulerService service = new SchedulerService(catalog, seats);
+		assertSame(seats, service.getSeats());
+		assertNull(new SchedulerService(catalog).getSeats());
+		assertThrows(IllegalArgumentException.class, () -> new SchedulerService(catalog, new SectionSeats(new int[2])));
+		int csc216 = catalog.indexOf("CSC 216", "001");
+		int csc116 = catalog.indexOf("CSC 116", "003");
+
+		WolfScheduler a = service.getSession("a");
+		WolfScheduler b = service.getSession("b");
+		assertTrue(a.addCourseToSchedule("CSC 216", "001"));
+		assertEquals(0, seats.getOpenSeats(csc216));
+		Exception e = assertThrows(IllegalArgumentException.class, () -> b.addCourseToSchedule("CSC 216", "001"));
+		assertEquals("There are no open seats in CSC 216-001", e.getMessage());
+		assertEquals(0, b.getScheduledActivities().length);
+
+		//Removing gives the seat back
+		a.removeActivityFromSchedule(0);
+		assertEquals(1, seats.getOpenSeats(csc216));
+		assertTrue(b.addCourseToSchedule("CSC 216", "001"));
+
+		//Undo can not bring back a course whose seat was taken
+		assertThrows(IllegalArgumentException.class, () -> a.undo());
+		assertEquals(0, a.getScheduledActivities().length);
+		assertTrue(a.canUndo());
+
+		//A bulk add with a full section takes no seats
+		ArrayList<String[]> cart = new ArrayList<String[]>();
+		cart.add(new String[] {"CSC 116", "003"});
+		cart.add(new String[] {"CSC 216", "001"});
+		String[] results = a.addActivitiesToSchedule(cart, new ArrayList<Event>());
+		assertNull(results[0]);
+		assertEquals("There are no open seats in CSC 216-001", results[1]);
+		assertEquals(1, seats.getOpenSeats(csc116));
+		cart.remove(1);
+		assertNull(a.addActivitiesToSchedule(cart, new ArrayList<Event>())[0]);
+		assertEquals(0, seats.getOpenSeats(csc116));
+
+		//Undo and redo move the seat
+		assertTrue(a.undo());
+		assertEquals(1, seats.getOpenSeats(csc116));
+		assertTrue(a.redo());
+		assertEquals(0, seats.getOpenSeats(csc116));
+
+		//Reset and closing a session give the seats back
+		a.resetSchedule();
+		assertEquals(1, seats.getOpenSeats(csc116));
+		assertTrue(service.closeSession("b"));
+		assertEquals(1, seats.getOpenSeats(csc216));
+		assertFalse(service.closeSession("b"));
+	}
+
+	/**
+	 * Tests that waitlisted students get freed seats in the order they joined.
+	 */
+	@Test
+	public void testWaitlist() {
+		CourseCatalog catalog = new SchedulerService(validTestFile).getCourseCatalog();
+		SchedulerService service = new SchedulerService(catalog, new SectionSeats(catalog, 1));
+		SectionSeats seats = service.getSeats();
+		int csc216 = catalog.indexOf("CSC 216", "001");
+		WolfScheduler a = service.getSession("a");
+		WolfScheduler b = service.getSession("b");
+		WolfScheduler c = service.getSession("c");
+		WolfScheduler d = service.getSession("d");
+
+		assertTrue(a.addCourseToSchedule("CSC 216", "001"));
+		assertTrue(service.joinWaitlist("b", "CSC 216", "001"));
+		assertTrue(service.joinWaitlist("c", "CSC 216", "001"));
+		assertTrue(service.joinWaitlist("d", "CSC 216", "001"));
+		assertFalse(service.joinWaitlist("b", "CSC 216", "001"));
+		assertArrayEquals(new String[] {"b", "c", "d"}, service.getWaitlist("CSC 216", "001"));
+
+		//Dropping gives the seat to the front of the waitlist
+		assertTrue(a.removeActivityFromSchedule(0));
+		assertEquals("CSC 216", b.getScheduledActivities()[0][0]);
+		assertEquals(0, a.getScheduledActivities().length);
+		assertEquals(0, seats.getOpenSeats(csc216));
+		assertArrayEquals(new String[] {"c", "d"}, service.getWaitlist("CSC 216", "001"));
+
+		//Students who already have the course or left the waitlist are skipped
+		assertTrue(c.addCourseToSchedule("CSC 216", "601"));
+		assertTrue(service.leaveWaitlist("d", "CSC 216", "001"));
+		assertFalse(service.leaveWaitlist("d", "CSC 216", "001"));
+		b.resetSchedule();
+		assertEquals(1, c.getScheduledActivities().length);
+		assertEquals("601", c.getScheduledActivities()[0][1]);
+		assertEquals(0, d.getScheduledActivities().length);
+		assertEquals(1, seats.getOpenSeats(csc216));
+		assertEquals(0, service.getWaitlist("CSC 216", "001").length);
+
+		//Joining with a seat open takes it right away, and the promotion is not an undoable change
+		assertTrue(service.joinWaitlist("d", "CSC 216", "001"));
+		assertEquals(1, d.getScheduledActivities().length);
+		assertFalse(d.canUndo());
+		assertTrue(service.joinWaitlist("a", "CSC 216", "001"));
+		assertTrue(d.removeActivityFromSchedule(0));
+		assertEquals(1, a.getScheduledActivities().length);
+
+		//Closing a session takes the student off the waitlists and promotes the next student
+		assertTrue(service.joinWaitlist("b", "CSC 216", "001"));
+		assertTrue(service.joinWaitlist("d", "CSC 216", "001"));
+		assertTrue(service.closeSession("b"));
+		assertTrue(service.closeSession("a"));
+		assertEquals(1, d.getScheduledActivities().length);
+		assertEquals(0, service.getWaitlist("CSC 216", "001").length);
+
+		//A student with a section of the course can not wait for another one
+		Exception e = assertThrows(IllegalArgumentException.class, () -> service.joinWaitlist("c", "CSC 216", "001"));
+		assertEquals("You are already enrolled in CSC 216", e.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> service.joinWaitlist("d", "CSC 216", "001"));
+		assertEquals(0, service.getWaitlist("CSC 216", "001").length);
+		assertEquals(0, seats.getWaiting(csc216));
+
+		assertThrows(IllegalArgumentException.class, () -> service.joinWaitlist("nobody", "CSC 216", "001"));
+		assertThrows(IllegalArgumentException.class, () -> service.joinWaitlist("d", "CSC 999", "001"));
+		assertThrows(IllegalArgumentException.class, () -> service.getWaitlist(null, "001"));
+		SchedulerService unlimited = new SchedulerService(catalog);
+		unlimited.getSession("a");
+		assertThrows(IllegalStateException.class, () -> unlimited.joinWaitlist("a", "CSC 216", "001"));
+		assertThrows(IllegalStateException.class, () -> unlimited.getWaitlist("CSC 216", "001"));
+	}
+
+	/**
+	 * Tests that a closed session can not be changed by someone still holding it, and that it
+	 * only leaves the waitlists it joined.
+	 */
+	@Test
+	public void testClosedSession() {
+		CourseCatalog catalog = new SchedulerService(validTestFile).getCourseCatalog();
+		SchedulerService service = new SchedulerService(catalog, new SectionSeats(catalog, 1));
+		SectionSeats seats = service.getSeats();
+		int csc216 = catalog.indexOf("CSC 216", "001");
+		int csc116 = catalog.indexOf("CSC 116", "001");
+		WolfScheduler a = service.getSession("a");
+		WolfScheduler b = service.getSession("b");
+		WolfScheduler c = service.getSession("c");
+		assertTrue(a.addCourseToSchedule("CSC 216", "001"));
+		assertTrue(a.addCourseToSchedule("CSC 116", "001"));
+		assertTrue(a.removeActivityFromSchedule(1));
+		assertTrue(service.joinWaitlist("b", "CSC 216", "001"));
+		assertTrue(service.joinWaitlist("c", "CSC 216", "001"));
+		assertTrue(c.addCourseToSchedule("CSC 116", "001"));
+
+		//Closing gives the seat to b, and undo on the old session can not take it back
+		assertTrue(service.closeSession("a"));
+		assertEquals(1, b.getScheduledActivities().length);
+		assertEquals(0, a.getScheduledActivities().length);
+		assertFalse(a.canUndo());
+		assertThrows(IllegalStateException.class, () -> a.undo());
+		assertThrows(IllegalStateException.class, () -> a.redo());
+		assertThrows(IllegalStateException.class, () -> a.addCourseToSchedule("CSC 216", "001"));
+		assertThrows(IllegalStateException.class, () -> a.addActivitiesToSchedule(new ArrayList<String[]>(), new ArrayList<Event>()));
+		assertThrows(IllegalStateException.class, () -> a.addEventToSchedule("Gym", "F", 800, 900, ""));
+		assertThrows(IllegalStateException.class, () -> a.removeActivityFromSchedule(0));
+		assertThrows(IllegalStateException.class, () -> a.resetSchedule());
+		assertThrows(IllegalStateException.class, () -> a.setScheduleTitle("Closed"));
+		assertEquals(1, seats.getEnrolled(csc216));
+		assertEquals(1, seats.getEnrolled(csc116));
+
+		//Closing b leaves c's place on the waitlist alone, and c gets the seat
+		assertTrue(service.closeSession("b"));
+		assertThrows(IllegalStateException.class, () -> b.undo());
+		assertEquals(2, c.getScheduledActivities().length);
+		assertEquals(0, seats.getWaiting(csc216));
+		assertEquals(1, seats.getEnrolled(csc216));
+
+		//A new session for the same student starts open and empty
+		WolfScheduler again = service.getSession("a");
+		assertNotSame(a, again);
+		assertEquals(0, again.getScheduledActivities().length);
+		assertThrows(IllegalArgumentException.class, () -> again.addCourseToSchedule("CSC 216", "001"));
+		assertTrue(service.joinWaitlist("a", "CSC 216", "001"));
+		assertTrue(service.closeSession("a"));
+		assertEquals(0, service.getWaitlist("CSC 216", "001").length);
+		assertEquals(0, seats.getWaiting(csc216));
+	}
+
+	/**
+	 * Tests that undo and redo skip over a promotion and keep the seat the student waited for.
+	 */
+	@Test
+	public void testPromotionKeptByUndo() {
+		CourseCatalog catalog = new SchedulerService(validTestFile).getCourseCatalog();
+		SchedulerService service = new SchedulerService(catalog, new SectionSeats(catalog, 1));
+		SectionSeats seats = service.getSeats();
+		int csc216 = catalog.indexOf("CSC 216", "001");
+		WolfScheduler a = service.getSession("a");
+		WolfScheduler b = service.getSession("b");
+		assertTrue(a.addCourseToSchedule("CSC 216", "001"));
+
+		//b has one change to undo and one to redo when the seat opens
+		b.addEventToSchedule("Gym", "F", 800, 900, "");
+		b.addEventToSchedule("Lunch", "F", 1200, 1300, "");
+		assertTrue(b.undo());
+		assertTrue(service.joinWaitlist("b", "CSC 216", "001"));
+		assertTrue(a.removeActivityFromSchedule(0));
+		assertEquals(2, b.getScheduledActivities().length);
+		assertTrue(b.canRedo());
+
+		assertTrue(b.redo());
+		assertEquals(3, b.getScheduledActivities().length);
+		assertTrue(b.undo());
+		assertTrue(b.undo());
+		assertFalse(b.canUndo());
+		assertEquals(1, b.getScheduledActivities().length);
+		assertEquals("CSC 216", b.getScheduledActivities()[0][0]);
+		assertEquals(0, seats.getOpenSeats(csc216));
+
+		//Redo brings back the student's changes with the course still there
+		assertTrue(b.redo());
+		assertTrue(b.redo());
+		assertEquals(3, b.getScheduledActivities().length);
+		assertEquals(1, seats.getEnrolled(csc216));
+		assertThrows(IllegalArgumentException.class, () -> b.addCourseToSchedule("CSC 216", "001"));
+	}
+
+	/**
+	 * Tests that a seat given back before the waitlist is promoted goes to the front of the
+	 * waitlist and not to a student who enrolls directly.
+	 */
+	@Test
+	public void testWaitlistBeforePromotion() {
+		CourseCatalog catalog = new SchedulerService(validTestFile).getCourseCatalog();
+		SchedulerService service = new SchedulerService(catalog, new SectionSeats(catalog, 1));
+		SectionSeats seats = service.getSeats();
+		int csc216 = catalog.indexOf("CSC 216", "001");
+
+		//A scheduler outside the service shares the seats but does not promote when it drops
+		WolfScheduler outside = new WolfScheduler(catalog, seats);
+		assertTrue(outside.addCourseToSchedule("CSC 216", "001"));
+		WolfScheduler b = service.getSession("b");
+		WolfScheduler c = service.getSession("c");
+		WolfScheduler d = service.getSession("d");
+		assertTrue(service.joinWaitlist("b", "CSC 216", "001"));
+		assertTrue(service.joinWaitlist("c", "CSC 216", "001"));
+		assertTrue(outside.removeActivityFromSchedule(0));
+		assertEquals(1, seats.getOpenSeats(csc216));
+
+		assertThrows(IllegalArgumentException.class, () -> d.addCourseToSchedule("CSC 216", "001"));
+		assertThrows(IllegalArgumentException.class, () -> outside.addCourseToSchedule("CSC 216", "001"));
+		assertEquals(0, d.getScheduledActivities().length);
+
+		//The next promotion gives the seat to the front of the waitlist
+		assertTrue(service.joinWaitlist("d", "CSC 216", "001"));
+		assertEquals(1, b.getScheduledActivities().length);
+		assertEquals(0, c.getScheduledActivities().length);
+		assertEquals(0, d.getScheduledActivities().length);
+		assertArrayEquals(new String[] {"c", "d"}, service.getWaitlist("CSC 216", "001"));
+		assertEquals(2, seats.getWaiting(csc216));
+	}
+
+	/**
+	 * Has a chain of waitlisted students drop a one seat section in turn while other threads keep
+	 * trying to enroll other students directly, and checks that the seat always goes to the next
+	 * student in the order they joined and never to a student who did not wait.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testWaitlistOrder() throws InterruptedException {
+		CourseCatalog catalog = new SchedulerService(validTestFile).getCourseCatalog();
+		SchedulerService service = new SchedulerService(catalog, new SectionSeats(catalog, 1));
+		int waiters = 200;
+		assertTrue(service.getSession("w0").addCourseToSchedule("CSC 216", "001"));
+		for (int i = 1; i <= waiters; i++) {
+			service.getSession("w" + i);
+			assertTrue(service.joinWaitlist("w" + i, "CSC 216", "001"));
+		}
+		int threadCount = 4;
+		for (int t = 0; t < threadCount; t++) {
+			service.getSession("other" + t);
+		}
+		AtomicBoolean done = new AtomicBoolean();
+		CyclicBarrier start = new CyclicBarrier(threadCount + 1);
+		ArrayList<Thread> threads = new ArrayList<Thread>();
+		ArrayList<Throwable> errors = new ArrayList<Throwable>();
+		for (int t = 0; t < threadCount; t++) {
+			WolfScheduler other = service.getSession("other" + t);
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+					while (!done.get()) {
+						try {
+							other.addCourseToSchedule("CSC 216", "001");
+							fail("A student who did not wait got the seat");
+						} catch (IllegalArgumentException e) {
+							//The section is full or has a waitlist
+						}
+					}
+				} catch (Throwable e) {
+					synchronized (errors) {
+						errors.add(e);
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		try {
+			start.await();
+		} catch (Exception e) {
+			fail("Unexpected error starting the threads");
+		}
+		for (int i = 1; i <= waiters; i++) {
+			assertTrue(service.getSession("w" + (i - 1)).removeActivityFromSchedule(0));
+			assertEquals(1, service.getSession("w" + i).getScheduledActivities().length, "w" + i);
+			assertEquals(waiters - i, service.getWaitlist("CSC 216", "001").length);
+		}
+		done.set(true);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue(errors.isEmpty(), errors.toString());
+		assertEquals(0, service.getSeats().getWaiting(catalog.indexOf("CSC 216", "001")));
+	}
+
+	/**
+	 * Has the same student join a waitlist from many threads at once and checks that the
+	 * student is only on it once.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testConcurrentJoinWaitlist() throws InterruptedException {
+		CourseCatalog catalog = new SchedulerService(validTestFile).getCourseCatalog();
+		SchedulerService service = new SchedulerService(catalog, new SectionSeats(catalog, 1));
+		assertTrue(service.getSession("a").addCourseToSchedule("CSC 216", "001"));
+		service.getSession("b");
+		int threadCount = 8;
+		for (int round = 0; round < 50; round++) {
+			AtomicInteger joined = new AtomicInteger();
+			CyclicBarrier start = new CyclicBarrier(threadCount);
+			ArrayList<Thread> threads = new ArrayList<Thread>();
+			for (int t = 0; t < threadCount; t++) {
+				Thread thread = new Thread(() -> {
+					try {
+						start.await();
+						if (service.joinWaitlist("b", "CSC 216", "001")) {
+							joined.incrementAndGet();
+						}
+					} catch (Exception e) {
+						//Counted as not joined
+					}
+				});
+				threads.add(thread);
+				thread.start();
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			assertEquals(1, joined.get());
+			assertArrayEquals(new String[] {"b"}, service.getWaitlist("CSC 216", "001"));
+			assertEquals(1, service.getSeats().getWaiting(catalog.indexOf("CSC 216", "001")));
+			assertTrue(service.leaveWaitlist("b", "CSC 216", "001"));
+			assertEquals(0, service.getSeats().getWaiting(catalog.indexOf("CSC 216", "001")));
+		}
+	}
+
+	/**
+	 * Has many students add, drop and wait for two small sections from many threads at once and
+	 * checks that no seat is lost or given twice, and that no seat is left open while a student waits.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testWaitlistStress() throws InterruptedException {
+		CourseCatalog catalog = new SchedulerService(validTestFile).getCourseCatalog();
+		SchedulerService service = new SchedulerService(catalog, new SectionSeats(catalog, 3));
+		String[][] sections = {{"CSC 216", "001"}, {"CSC 116", "001"}};
+		int threadCount = 8;
+		int studentsPerThread = 4;
+		for (int i = 0; i < threadCount * studentsPerThread; i++) {
+			service.getSession("s" + i);
+		}
+		CyclicBarrier start = new CyclicBarrier(threadCount);
+		ArrayList<Thread> threads = new ArrayList<Thread>();
+		ArrayList<Throwable> errors = new ArrayList<Throwable>();
+		for (int t = 0; t < threadCount; t++) {
+			int seed = t;
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+					for (int i = 0; i < 2000; i++) {
+						String studentId = "s" + (seed * studentsPerThread + i % studentsPerThread);
+						WolfScheduler session = service.getSession(studentId);
+						String[] section = sections[(i / studentsPerThread + seed) % sections.length];
+						String[][] schedule = session.getScheduledActivities();
+						int found = -1;
+						for (int j = 0; j < schedule.length; j++) {
+							if (section[0].equals(schedule[j][0])) {
+								found = j;
+							}
+						}
+						try {
+							if (found >= 0) {
+								session.removeActivityFromSchedule(found);
+							} else if (!session.addCourseToSchedule(section[0], section[1])) {
+								fail("Section should exist");
+							}
+						} catch (IllegalArgumentException e) {
+							//Full, or the course was just given to the student from the waitlist
+							service.joinWaitlist(studentId, section[0], section[1]);
+						}
+					}
+				} catch (Throwable e) {
+					synchronized (errors) {
+						errors.add(e);
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue(errors.isEmpty(), errors.toString());
+
+		for (String[] section : sections) {
+			int idx = catalog.indexOf(section[0], section[1]);
+			int enrolled = 0;
+			for (int i = 0; i < threadCount * studentsPerThread; i++) {
+				for (String[] row : service.getSession("s" + i).getScheduledActivities()) {
+					if (section[0].equals(row[0])) {
+						enrolled++;
+					}
+				}
+			}
+			assertEquals(enrolled, service.getSeats().getEnrolled(idx));
+			assertTrue(enrolled <= 3);
+			if (enrolled < 3) {
+				assertEquals(0, service.getWaitlist(section[0], section[1]).length);
+			}
+		}
+	}
+
+	/**
+	 * Hammers one student's session with adds, removes and resets from many threads and
+	 * checks that the schedule never has duplicates and stays usable.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testSameSessionStress() throws InterruptedException {
+		SchedulerService service = new SchedulerService(validTestFile);
+		WolfScheduler session = service.getSession("student");
+		String[][] sections = {{"CSC 116", "001"}, {"CSC 116", "002"}, {"CSC 216", "001"}, {"CSC 216", "601"},
+				{"CSC 217", "202"}, {"CSC 226", "001"}, {"CSC 230", "001"}, {"CSC 316", "001"}};
+		int threadCount = 8;
+		CyclicBarrier start = new CyclicBarrier(threadCount);
+		ArrayList<Thread> threads = new ArrayList<Thread>();
+		ArrayList<Throwable> errors = new ArrayList<Throwable>();
+		for (int t = 0; t < threadCount; t++) {
+			int seed = t;
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+					for (int i = 0; i < 2000; i++) {
+						int op = (i * 31 + seed * 17) % 20;
+						String[] section = sections[(i + seed) % sections.length];
+						try {
+							if (op < 10) {
+								session.addCourseToSchedule(section[0], section[1]);
+							} else if (op < 14) {
+								session.addEventToSchedule("Event " + (i % 3), "MW", 800, 900, "");
+							} else if (op < 19) {
+								session.removeActivityFromSchedule(i % 4);
+							} else {
+								session.resetSchedule();
+							}
+						} catch (IllegalArgumentException e) {
+							//Duplicates are expected when threads race to add the same activity
+						}
+						checkNoDuplicates(session.getFullScheduledActivities());
+					}
+				} catch (Throwable e) {
+					synchronized (errors) {
+						errors.add(e);
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue(errors.isEmpty(), errors.toString());
+
+		//The duplicate sets must still match the schedule
+		String[][] schedule = session.getFullScheduledActivities();
+		checkNoDuplicates(schedule);
+		for (String[] row : schedule) {
+			if (!"".equals(row[0])) {
+				assertThrows(IllegalArgumentException.class, () -> session.addCourseToSchedule(row[0], row[1]));
+			} else {
+				assertThrows(IllegalArgumentException.class, () -> session.addEventToSchedule(row[2], "MW", 800, 900, ""));
+			}
+		}
+		while (session.removeActivityFromSchedule(0)) {
+			//Remove everything one at a time
+		}
+		for (String[] section : sections) {
+			if ("001".equals(section[1]) || "202".equals(section[1])) {
+				assertTrue(session.addCourseToSchedule(section[0], section[1]));
+			}
+		}
+		assertEquals(6, session.getScheduledActivities().length);
+	}
+
+	/**
+	 * Checks that no course name or event title is in the schedule twice.
+	 * @param schedule the full schedule
+	 */
+	private void checkNoDuplicates(String[][] schedule) {
+		HashSet<String> seen = new HashSet<String>();
+		for (String[] row : schedule) {
+			String id = "".equals(row[0]) ? "event:" + row[2] : "course:" + row[0];
+			assertTrue(seen.add(id), "Duplicate " + id);
+		}
+	}
+
+}
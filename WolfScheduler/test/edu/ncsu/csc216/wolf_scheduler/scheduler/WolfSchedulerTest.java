@@ -6,14 +6,21 @@ import org.junit.Before;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.Scanner;
 
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogSortKey;
+import edu.ncsu.csc216.wolf_scheduler.catalog.ColumnarCourseCatalog;
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
 
 /**
  * Tests the WolfScheduler class.
@@ -88,6 +95,26 @@ public class WolfSchedulerTest {
 		assertEquals(13, ws2.getCourseCatalog().length);		
 	}
 	
+	/**
+	 * Tests WolfScheduler() with an already loaded catalog.
+	 * @throws FileNotFoundException if the test file can not be read
+	 */
+	@Test
+	public void testWolfSchedulerCourseCatalog() throws FileNotFoundException {
+		assertThrows(IllegalArgumentException.class, () -> new WolfScheduler((ColumnarCourseCatalog) null));
+		
+		WolfScheduler ws = new WolfScheduler(new ColumnarCourseCatalog(CourseRecordIO.readCourseRecords(validTestFile)));
+		assertEquals(13, ws.getCourseCatalog().length);
+		assertEquals(0, ws.getScheduledActivities().length);
+		assertEquals("My Schedule", ws.getScheduleTitle());
+		
+		Activity c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		assertEquals(c, ws.getCourseFromCatalog(NAME, SECTION));
+		assertNull(ws.getCourseFromCatalog("CSC 492", "001"));
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		assertEquals(NAME, ws.getScheduledActivities()[0][0]);
+	}
+	
 	/**
 	 * Test WolfScheduler.getCourseFromCatalog().
 	 */
@@ -103,6 +130,265 @@ public class WolfSchedulerTest {
 		assertEquals(c, ws.getCourseFromCatalog("CSC 216", "001"));
 	}
 	
+	/**
+	 * Test WolfScheduler.searchCourseCatalog() and the department lookups.
+	 */
+	@Test
+	public void testSearchCourseCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		ArrayList<Course> found = ws.searchCourseCatalog("CSC 21");
+		assertEquals(7, found.size());
+		assertEquals(ws.getCourseFromCatalog(NAME, SECTION), found.get(0));
+		assertEquals("CSC 217", found.get(6).getName());
+		assertEquals("601", found.get(6).getSection());
+		assertEquals(0, ws.searchCourseCatalog("MA").size());
+		
+		assertArrayEquals(new String[] {"CSC"}, ws.getDepartments());
+		assertEquals(13, ws.getDepartmentCourses("CSC").size());
+		assertEquals(0, ws.getDepartmentCourses("MA").size());
+	}
+	
+	/**
+	 * Test WolfScheduler.searchCourseTitles().
+	 */
+	@Test
+	public void testSearchCourseTitles() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		ArrayList<Course> found = ws.searchCourseTitles("Software Development", true);
+		assertEquals(7, found.size());
+		assertEquals(ws.getCourseFromCatalog(NAME, SECTION), found.get(0));
+		assertEquals("CSC 216", found.get(2).getName());
+		assertEquals("CSC 217", found.get(3).getName());
+		
+		found = ws.searchCourseTitles("software tools", false);
+		assertEquals(8, found.size());
+		assertEquals("CSC 230", found.get(0).getName());
+		
+		assertEquals(1, ws.searchCourseTitles("discrete math", true).size());
+		assertEquals(0, ws.searchCourseTitles("math discrete", true).size());
+		assertThrows(IllegalArgumentException.class, () -> ws.searchCourseTitles(null, true));
+	}
+	
+	/**
+	 * Test WolfScheduler.searchCourseTimes().
+	 */
+	@Test
+	public void testSearchCourseTimes() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		ArrayList<Course> found = ws.searchCourseTimes("TH", 1300, 1600);
+		assertEquals(1, found.size());
+		assertEquals(ws.getCourseFromCatalog(NAME, SECTION), found.get(0));
+		
+		found = ws.searchCourseTimes("MTWHF", 800, 1200);
+		assertEquals(4, found.size());
+		assertEquals("CSC 217", found.get(0).getName());
+		assertEquals("211", found.get(0).getSection());
+		assertEquals(2, ws.searchCourseTimes("A", 0, 0).size());
+		assertThrows(IllegalArgumentException.class, () -> ws.searchCourseTimes("X", 1300, 1600));
+	}
+	
+	/**
+	 * Test WolfScheduler.generateSchedules().
+	 */
+	@Test
+	public void testGenerateSchedules() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ArrayList<String> names = new ArrayList<String>();
+		names.add("CSC 316");
+		names.add("CSC 116");
+		
+		ArrayList<ArrayList<Course>> schedules = ws.generateSchedules(names);
+		assertEquals(2, schedules.size());
+		for (ArrayList<Course> schedule : schedules) {
+			assertEquals("CSC 316", schedule.get(0).getName());
+			assertEquals("CSC 116", schedule.get(1).getName());
+			assertNotEquals("001", schedule.get(1).getSection());
+		}
+		assertEquals(0, ws.getScheduledActivities().length);
+		
+		Iterator<ArrayList<Course>> streamed = ws.streamSchedules(names).iterator();
+		assertEquals(schedules.get(0), streamed.next());
+		assertEquals(schedules.get(1), streamed.next());
+		assertFalse(streamed.hasNext());
+		assertEquals(1, ws.streamSchedules(names).limit(1).count());
+		assertEquals(1, ws.generateSchedules(names, 1).size());
+		assertEquals(2, ws.generateSchedules(names, 10).size());
+		assertThrows(IllegalArgumentException.class, () -> ws.generateSchedules(names, 0));
+		
+		names.add("CSC 999");
+		assertThrows(IllegalArgumentException.class, () -> ws.generateSchedules(names));
+		assertThrows(IllegalArgumentException.class, () -> ws.generateSchedules(names, 10));
+		assertThrows(IllegalArgumentException.class, () -> ws.optimizeSchedules(names, ScheduleCost.fridays(), 1));
+		
+		names.remove("CSC 999");
+		ArrayList<ArrayList<Course>> best = ws.optimizeSchedules(names, ScheduleCost.earlyStarts(900), 5);
+		assertEquals(2, best.size());
+		assertThrows(IllegalArgumentException.class, () -> ws.optimizeSchedules(names, null, 1));
+		assertThrows(IllegalArgumentException.class, () -> ws.optimizeSchedules(names, ScheduleCost.fridays(), 0));
+	}
+	
+	/**
+	 * Test WolfScheduler.addActivitiesToSchedule().
+	 */
+	@Test
+	public void testAddActivitiesToSchedule() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		assertTrue(ws.addCourseToSchedule("CSC 116", "001"));
+		
+		ArrayList<String[]> courses = new ArrayList<String[]>();
+		courses.add(new String[] {NAME, SECTION});
+		courses.add(new String[] {"CSC 492", "001"});
+		courses.add(new String[] {"CSC 116", "002"});
+		courses.add(new String[] {"CSC 216", "002"});
+		courses.add(null);
+		ArrayList<Event> events = new ArrayList<Event>();
+		events.add(new Event("Exercise", "MWF", 800, 850, "Gym"));
+		events.add(new Event("Exercise", "TH", 800, 850, "Track"));
+		
+		//Nothing is added when any item is invalid
+		String[] results = ws.addActivitiesToSchedule(courses, events);
+		assertEquals(7, results.length);
+		assertNull(results[0]);
+		assertEquals("Course doesn't exist.", results[1]);
+		assertEquals("You are already enrolled in CSC 116", results[2]);
+		assertEquals("You are already enrolled in CSC 216", results[3]);
+		assertEquals("Invalid course.", results[4]);
+		assertNull(results[5]);
+		assertEquals("You have already created an event called Exercise", results[6]);
+		assertEquals(1, ws.getScheduledActivities().length);
+		long version = ws.getScheduleSnapshot().getVersion();
+		
+		//Everything is added in one version when every item is valid
+		courses.remove(4);
+		courses.remove(3);
+		courses.remove(2);
+		courses.remove(1);
+		courses.add(new String[] {"CSC 226", "001"});
+		events.remove(1);
+		results = ws.addActivitiesToSchedule(courses, events);
+		assertArrayEquals(new String[3], results);
+		assertEquals(4, ws.getScheduledActivities().length);
+		assertEquals(version + 1, ws.getScheduleSnapshot().getVersion());
+		assertEquals(NAME, ws.getScheduledActivities()[1][0]);
+		assertEquals("CSC 226", ws.getScheduledActivities()[2][0]);
+		assertEquals("Exercise", ws.getScheduledActivities()[3][2]);
+		
+		//Changing the caller's event does not change the schedule
+		events.get(0).setTitle("Nap");
+		events.get(0).setMeetingDaysAndTime("T", 1300, 1400);
+		assertEquals("Exercise", ws.getScheduledActivities()[3][2]);
+		assertEquals("MWF 8:00AM-8:50AM", ws.getScheduledActivities()[3][3]);
+		ws.addEventToSchedule("Nap", "T", 1300, 1400, "");
+		
+		//The cart is now in the schedule
+		assertThrows(IllegalArgumentException.class, () -> ws.addCourseToSchedule(NAME, "002"));
+		assertThrows(IllegalArgumentException.class, () -> ws.addEventToSchedule("Exercise", "U", 800, 850, ""));
+		assertArrayEquals(new String[0], ws.addActivitiesToSchedule(new ArrayList<String[]>(), new ArrayList<Event>()));
+		assertThrows(IllegalArgumentException.class, () -> ws.addActivitiesToSchedule(null, new ArrayList<Event>()));
+		assertThrows(IllegalArgumentException.class, () -> ws.addActivitiesToSchedule(courses, null));
+	}
+
+	/**
+	 * Test WolfScheduler.undo() and WolfScheduler.redo().
+	 */
+	@Test
+	public void testUndoRedo() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		assertFalse(ws.canUndo());
+		assertFalse(ws.undo());
+		assertFalse(ws.redo());
+		
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		ws.addEventToSchedule("Exercise", "MWF", 800, 850, "Gym");
+		ws.setScheduleTitle("Fall");
+		ws.resetSchedule();
+		assertEquals(0, ws.getScheduledActivities().length);
+		
+		//Undo the reset and the title change
+		long version = ws.getScheduleSnapshot().getVersion();
+		assertTrue(ws.undo());
+		assertEquals(2, ws.getScheduledActivities().length);
+		assertEquals("Fall", ws.getScheduleTitle());
+		assertTrue(ws.undo());
+		assertEquals("My Schedule", ws.getScheduleTitle());
+		assertEquals(version + 2, ws.getScheduleSnapshot().getVersion());
+		assertTrue(ws.canRedo());
+		
+		//The course and event are back, so they can not be added again
+		assertThrows(IllegalArgumentException.class, () -> ws.addCourseToSchedule(NAME, "002"));
+		assertThrows(IllegalArgumentException.class, () -> ws.addEventToSchedule("Exercise", "TH", 800, 850, ""));
+		
+		//Undo the event and redo it
+		assertTrue(ws.undo());
+		assertEquals(1, ws.getScheduledActivities().length);
+		ws.addEventToSchedule("Lunch", "MW", 1200, 1230, "");
+		assertTrue(ws.undo());
+		assertTrue(ws.redo());
+		assertEquals("Lunch", ws.getScheduledActivities()[1][2]);
+		assertFalse(ws.redo());
+		
+		//Undo the course and the course can be added again
+		assertTrue(ws.undo());
+		assertTrue(ws.undo());
+		assertEquals(0, ws.getScheduledActivities().length);
+		assertTrue(ws.addCourseToSchedule(NAME, "002"));
+		assertFalse(ws.canRedo());
+		
+		//Removing a course after undo keeps the course names up to date
+		assertTrue(ws.undo());
+		assertTrue(ws.redo());
+		assertTrue(ws.removeActivityFromSchedule(0));
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+	}
+	
+	/**
+	 * Test the schedule totals kept by WolfScheduler.
+	 */
+	@Test
+	public void testScheduleTotals() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		assertEquals(0, ws.getScheduleCredits());
+		
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		assertTrue(ws.addCourseToSchedule("CSC 116", "001"));
+		ws.addEventToSchedule("Exercise", "MWFSU", 800, 850, "Gym");
+		assertEquals(6, ws.getScheduleCredits());
+		assertEquals(4, ws.getDaysOnCampus());
+		assertEquals(370, ws.getWeeklyContactMinutes());
+		
+		assertTrue(ws.removeActivityFromSchedule(0));
+		assertEquals(3, ws.getScheduleCredits());
+		assertEquals(2, ws.getDaysOnCampus());
+		assertEquals(220, ws.getWeeklyContactMinutes());
+		
+		assertTrue(ws.undo());
+		assertEquals(6, ws.getScheduleCredits());
+		ws.resetSchedule();
+		assertEquals(0, ws.getScheduleCredits());
+		assertEquals(0, ws.getDaysOnCampus());
+		assertEquals(0, ws.getWeeklyContactMinutes());
+	}
+	
+	/**
+	 * Test that only the most recent changes are kept for undo.
+	 */
+	@Test
+	public void testUndoHistoryLimit() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		for (int i = 0; i < 600; i++) {
+			ws.setScheduleTitle("Title " + i);
+		}
+		int undone = 0;
+		while (ws.undo()) {
+			undone++;
+		}
+		assertEquals(500, undone);
+		assertEquals("Title 99", ws.getScheduleTitle());
+	}
+	
 	/**
 	 * Test WolfScheduler.addCourse().
 	 */
@@ -218,6 +504,39 @@ public class WolfSchedulerTest {
 		assertEquals(1, ws.getFullScheduledActivities().length);
 	}
 	
+	/**
+	 * Tests that duplicate checks follow removes and resets.
+	 */
+	@Test
+	public void testDuplicatesAfterRemoveAndReset() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		ws.addEventToSchedule(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		
+		//A course and an event with the same title are not duplicates
+		ws.addEventToSchedule(TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		assertEquals(3, ws.getScheduledActivities().length);
+		
+		//Removing the course allows another section of it
+		assertTrue(ws.removeActivityFromSchedule(0));
+		assertTrue(ws.addCourseToSchedule(NAME, "002"));
+		assertThrows(IllegalArgumentException.class, () -> ws.addCourseToSchedule(NAME, SECTION));
+		
+		//Removing the event allows the title again
+		assertTrue(ws.removeActivityFromSchedule(0));
+		ws.addEventToSchedule(EVENT_TITLE, "MW", EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		assertThrows(IllegalArgumentException.class, 
+				() -> ws.addEventToSchedule(EVENT_TITLE, "MW", EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS));
+		
+		//Resetting clears both
+		ws.resetSchedule();
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		ws.addEventToSchedule(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		ws.addEventToSchedule(TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		assertEquals(3, ws.getScheduledActivities().length);
+	}
+	
 	/**
 	 * Test WolfScheduler.resetSchedule()
 	 */
@@ -304,6 +623,42 @@ public class WolfSchedulerTest {
 		assertEquals("CSC 316", catalog[12][0]);
 		assertEquals("001", catalog[12][1]);
 		assertEquals("Data Structures and Algorithms", catalog[12][2]);
+		
+		//The catalog is rendered once, but changing the returned array does not change it
+		catalog[0][2] = "Changed";
+		assertNotSame(catalog, ws.getCourseCatalog());
+		assertEquals("Intro to Programming - Java", ws.getCourseCatalog()[0][2]);
+		assertSame(catalog[0][3], ws.getCourseCatalog()[0][3]);
+	}
+	
+	/**
+	 * Test the paged WolfScheduler.getCourseCatalog() and WolfScheduler.getScheduledActivities().
+	 */
+	@Test
+	public void testPages() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		String[][] page = ws.getCourseCatalog(12, 40);
+		assertEquals(1, page.length);
+		assertEquals("CSC 316", page[0][0]);
+		
+		page = ws.getCourseCatalog(0, 2, CatalogSortKey.TITLE);
+		assertEquals(2, page.length);
+		assertEquals("C and Software Tools", page[0][2]);
+		assertEquals("Data Structures and Algorithms", page[1][2]);
+		assertThrows(IllegalArgumentException.class, () -> ws.getCourseCatalog(0, 2, null));
+		assertThrows(IllegalArgumentException.class, () -> ws.getCourseCatalog(-1, 2));
+		
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		assertTrue(ws.addCourseToSchedule("CSC 226", "001"));
+		ws.addEventToSchedule("Lunch", "MWF", 1200, 1300, "Food");
+		page = ws.getScheduledActivities(1, 5);
+		assertEquals(2, page.length);
+		assertEquals("CSC 226", page[0][0]);
+		assertEquals("Lunch", page[1][2]);
+		assertEquals(0, ws.getScheduledActivities(3, 5).length);
+		assertEquals(0, ws.getScheduledActivities(30, 5).length);
+		assertThrows(IllegalArgumentException.class, () -> ws.getScheduledActivities(0, -5));
 	}
 	
 	/**
@@ -392,6 +747,37 @@ public class WolfSchedulerTest {
 		assertEquals("", schedule[1][6]);
 	}
 	
+	/**
+	 * Test WolfScheduler.getScheduleSnapshot().
+	 */
+	@Test
+	public void testGetScheduleSnapshot() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		
+		//Reads of an unchanged schedule reuse the rendered rows but return their own arrays
+		ScheduleSnapshot before = ws.getScheduleSnapshot();
+		assertNotSame(ws.getScheduledActivities(), ws.getScheduledActivities());
+		assertSame(ws.getScheduledActivities()[0][3], ws.getScheduledActivities()[0][3]);
+		assertSame(ws.getFullScheduledActivities()[0][6], ws.getFullScheduledActivities()[0][6]);
+		ws.getScheduledActivities()[0][0] = "Changed";
+		ws.getScheduledActivities(0, 1)[0][0] = "Changed";
+		assertEquals(NAME, ws.getScheduledActivities()[0][0]);
+		assertSame(before, ws.getScheduleSnapshot());
+		
+		//Changes make a new version and leave the old one alone
+		ws.addEventToSchedule(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		ScheduleSnapshot after = ws.getScheduleSnapshot();
+		assertEquals(before.getVersion() + 1, after.getVersion());
+		assertEquals(1, before.size());
+		assertEquals(2, after.size());
+		assertEquals(2, ws.getScheduledActivities().length);
+		
+		ws.setScheduleTitle("New Title");
+		assertEquals("My Schedule", after.getTitle());
+		assertEquals("New Title", ws.getScheduleSnapshot().getTitle());
+	}
+	
 	/**
 	 * Test WolfScheduler.setTitle().
 	 */